@@ -1,5 +1,7 @@
 package me.tudu.config;
 
+import java.time.Duration;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +15,48 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Reminder reminder = new Reminder();
+
+    private final UnreadCount unreadCount = new UnreadCount();
+
+    private final NotificationPartition notificationPartition = new NotificationPartition();
+
+    private final SearchOutbox searchOutbox = new SearchOutbox();
+
+    private final SearchReindex searchReindex = new SearchReindex();
+
+    private final WorkspaceMembership workspaceMembership = new WorkspaceMembership();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Reminder getReminder() {
+        return reminder;
+    }
+
+    public UnreadCount getUnreadCount() {
+        return unreadCount;
+    }
+
+    public NotificationPartition getNotificationPartition() {
+        return notificationPartition;
+    }
+
+    public SearchOutbox getSearchOutbox() {
+        return searchOutbox;
+    }
+
+    public SearchReindex getSearchReindex() {
+        return searchReindex;
+    }
+
+    public WorkspaceMembership getWorkspaceMembership() {
+        return workspaceMembership;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +71,223 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Reminder {
+
+        private boolean enabled = true;
+
+        private Duration delay = Duration.ofMinutes(1);
+
+        private List<Duration> leadTimes = List.of(Duration.ofHours(24), Duration.ofHours(1));
+
+        private int batchSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getDelay() {
+            return delay;
+        }
+
+        public void setDelay(Duration delay) {
+            this.delay = delay;
+        }
+
+        public List<Duration> getLeadTimes() {
+            return leadTimes;
+        }
+
+        public void setLeadTimes(List<Duration> leadTimes) {
+            this.leadTimes = leadTimes;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class UnreadCount {
+
+        private Duration expiration = Duration.ofDays(1);
+
+        private boolean reconcileEnabled = true;
+
+        private Duration reconcileDelay = Duration.ofHours(1);
+
+        private int reconcileBatchSize = 500;
+
+        public Duration getExpiration() {
+            return expiration;
+        }
+
+        public void setExpiration(Duration expiration) {
+            this.expiration = expiration;
+        }
+
+        public boolean isReconcileEnabled() {
+            return reconcileEnabled;
+        }
+
+        public void setReconcileEnabled(boolean reconcileEnabled) {
+            this.reconcileEnabled = reconcileEnabled;
+        }
+
+        public Duration getReconcileDelay() {
+            return reconcileDelay;
+        }
+
+        public void setReconcileDelay(Duration reconcileDelay) {
+            this.reconcileDelay = reconcileDelay;
+        }
+
+        public int getReconcileBatchSize() {
+            return reconcileBatchSize;
+        }
+
+        public void setReconcileBatchSize(int reconcileBatchSize) {
+            this.reconcileBatchSize = reconcileBatchSize;
+        }
+    }
+
+    public static class NotificationPartition {
+
+        private boolean enabled = true;
+
+        private Duration delay = Duration.ofHours(6);
+
+        private int premadeMonths = 3;
+
+        private Duration retention = Duration.ofDays(365);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getDelay() {
+            return delay;
+        }
+
+        public void setDelay(Duration delay) {
+            this.delay = delay;
+        }
+
+        public int getPremadeMonths() {
+            return premadeMonths;
+        }
+
+        public void setPremadeMonths(int premadeMonths) {
+            this.premadeMonths = premadeMonths;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+    }
+
+    public static class SearchOutbox {
+
+        private boolean enabled = true;
+
+        private Duration delay = Duration.ofSeconds(1);
+
+        private int batchSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getDelay() {
+            return delay;
+        }
+
+        public void setDelay(Duration delay) {
+            this.delay = delay;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class SearchReindex {
+
+        private int workers = 4;
+
+        private int chunkSize = 1000;
+
+        private Duration staleAfter = Duration.ofMinutes(10);
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getStaleAfter() {
+            return staleAfter;
+        }
+
+        public void setStaleAfter(Duration staleAfter) {
+            this.staleAfter = staleAfter;
+        }
+    }
+
+    public static class WorkspaceMembership {
+
+        private long maximumSize = 10_000;
+
+        private Duration expireAfterAccess = Duration.ofHours(1);
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
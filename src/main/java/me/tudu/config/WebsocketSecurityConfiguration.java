@@ -22,6 +22,9 @@ public class WebsocketSecurityConfiguration extends AbstractSecurityWebSocketMes
             // /topic/messages-user<id>)
             .simpDestMatchers("/topic/**")
             .authenticated()
+            // the notifications of the current user only, resolved from /user/queue/notifications
+            .simpSubscribeDestMatchers("/user/queue/notifications")
+            .authenticated()
             // message types other than MESSAGE and SUBSCRIBE
             .simpTypeMatchers(SimpMessageType.MESSAGE, SimpMessageType.SUBSCRIBE)
             .denyAll()
@@ -33,7 +33,15 @@ public class Task implements Serializable {
 
     @NotNull
     @Column(name = "title", nullable = false)
-    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Text)
+    @org.springframework.data.elasticsearch.annotations.MultiField(
+        mainField = @org.springframework.data.elasticsearch.annotations.Field(
+            type = org.springframework.data.elasticsearch.annotations.FieldType.Text
+        ),
+        otherFields = @org.springframework.data.elasticsearch.annotations.InnerField(
+            suffix = "suggest",
+            type = org.springframework.data.elasticsearch.annotations.FieldType.Search_As_You_Type
+        )
+    )
     private String title;
 
     @Column(name = "description")
@@ -68,6 +76,10 @@ public class Task implements Serializable {
     @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Keyword)
     private Privilege privilege;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "users" }, allowSetters = true)
     private Workspace workspace;
@@ -209,6 +221,19 @@ public class Task implements Serializable {
         this.privilege = privilege;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Task version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Workspace getWorkspace() {
         return this.workspace;
     }
@@ -278,6 +303,7 @@ public class Task implements Serializable {
             ", createdAt='" + getCreatedAt() + "'" +
             ", updatedAt='" + getUpdatedAt() + "'" +
             ", privilege='" + getPrivilege() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -30,7 +30,15 @@ public class Workspace implements Serializable {
 
     @NotNull
     @Column(name = "name", nullable = false)
-    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Text)
+    @org.springframework.data.elasticsearch.annotations.MultiField(
+        mainField = @org.springframework.data.elasticsearch.annotations.Field(
+            type = org.springframework.data.elasticsearch.annotations.FieldType.Text
+        ),
+        otherFields = @org.springframework.data.elasticsearch.annotations.InnerField(
+            suffix = "suggest",
+            type = org.springframework.data.elasticsearch.annotations.FieldType.Search_As_You_Type
+        )
+    )
     private String name;
 
     @Column(name = "description")
@@ -0,0 +1,11 @@
+package me.tudu.domain.enumeration;
+
+/**
+ * The SearchReindexStatus enumeration.
+ */
+public enum SearchReindexStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+}
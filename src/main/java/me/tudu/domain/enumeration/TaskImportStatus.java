@@ -0,0 +1,11 @@
+package me.tudu.domain.enumeration;
+
+/**
+ * The TaskImportStatus enumeration.
+ */
+public enum TaskImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+}
@@ -0,0 +1,63 @@
+package me.tudu.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import me.tudu.domain.enumeration.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository writing the same notification for all the members of a workspace, in one statement.
+ */
+@Repository
+public class NotificationFanOutRepository {
+
+    // The ids are taken from whole blocks of the Hibernate pooled optimizer, allocated by the same statement
+    private static final String INSERT_FOR_WORKSPACE_MEMBERS =
+        """
+        with members as (
+            select user_id, row_number() over (order by user_id) - 1 as n
+            from rel_workspace__user
+            where workspace_id = ?
+        ), blocks as (
+            select nextval('sequence_generator') as hi, b - 1 as block
+            from generate_series(1, (select (count(*) + %1$d - 1) / %1$d from members)) b
+        ), inserted as (
+            insert into notification (id, message, status, created_at, user_id)
+            select b.hi - %1$d + 1 + mod(m.n, %1$d), ?, ?, ?, m.user_id
+            from members m join blocks b on b.block = m.n / %1$d
+            returning id, user_id
+        )
+        select i.id, i.user_id, u.login
+        from inserted i join jhi_user u on u.id = i.user_id
+        order by i.id
+        """.formatted(TaskImportRepository.SEQUENCE_ALLOCATION_SIZE);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationFanOutRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert a notification for each member of a workspace, through the primary key of {@code rel_workspace__user}.
+     *
+     * @param workspaceId the id of the workspace.
+     * @param message the message of the notifications.
+     * @param status the status of the notifications.
+     * @param createdAt the creation date of the notifications.
+     * @return the notifications inserted, with their user.
+     */
+    public List<NotificationRecipient> insertForWorkspaceMembers(Long workspaceId, String message, Status status, Instant createdAt) {
+        return jdbcTemplate.query(
+            INSERT_FOR_WORKSPACE_MEMBERS,
+            (rs, rowNum) -> new NotificationRecipient(rs.getLong("id"), rs.getLong("user_id"), rs.getString("login")),
+            workspaceId,
+            message,
+            status != null ? status.name() : null,
+            LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC)
+        );
+    }
+}
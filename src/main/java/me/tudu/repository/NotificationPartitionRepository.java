@@ -0,0 +1,117 @@
+package me.tudu.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the monthly partitions of the {@code notification} table, named {@code notification_pYYYYMM}, and its
+ * default partition {@code notification_default}.
+ */
+@Repository
+public class NotificationPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "notification_p";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String FIND_PARTITIONS =
+        """
+        select c.relname
+        from pg_inherits i join pg_class c on c.oid = i.inhrelid join pg_class p on p.oid = i.inhparent
+        where p.relname = 'notification' and c.relname ~ '^notification_p[0-9]{6}$'
+        order by c.relname
+        """;
+
+    // Arbitrary key of the advisory lock serializing the maintenance of the partitions
+    private static final long LOCK_KEY = 4_712_055_918L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lock the partitions until the end of the transaction, against their maintenance by the other instances.
+     */
+    public void lock() {
+        jdbcTemplate.query("select pg_advisory_xact_lock(?)", rs -> {}, LOCK_KEY);
+    }
+
+    /**
+     * Find the monthly partitions.
+     *
+     * @return the months of the partitions, in order.
+     */
+    public List<YearMonth> findPartitions() {
+        return jdbcTemplate
+            .queryForList(FIND_PARTITIONS, String.class)
+            .stream()
+            .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+            .toList();
+    }
+
+    /**
+     * Create the partition of a month, moving into it the notifications of the month held by the default partition.
+     *
+     * @param month the month.
+     * @return the number of notifications moved.
+     */
+    public int createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        Object[] range = { toTimestamp(month), toTimestamp(month.plusMonths(1)) };
+        jdbcTemplate.execute("create table " + partition + " (like notification including defaults including constraints)");
+        int moved = jdbcTemplate.update(
+            "insert into " + partition + " select * from notification_default where created_at >= ? and created_at < ?",
+            range
+        );
+        jdbcTemplate.update("delete from notification_default where created_at >= ? and created_at < ?", range);
+        jdbcTemplate.execute(
+            "alter table notification attach partition " +
+            partition +
+            " for values from ('" +
+            toTimestamp(month) +
+            "') to ('" +
+            toTimestamp(month.plusMonths(1)) +
+            "')"
+        );
+        return moved;
+    }
+
+    /**
+     * Drop the partition of a month, with all its notifications.
+     *
+     * @param month the month.
+     */
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("drop table " + partitionName(month));
+    }
+
+    /**
+     * Delete the notifications of the default partition created before a point in time.
+     *
+     * @param createdBefore the point in time.
+     * @return the number of notifications deleted.
+     */
+    public int deleteFromDefaultPartition(Instant createdBefore) {
+        return jdbcTemplate.update(
+            "delete from notification_default where created_at < ?",
+            LocalDateTime.ofInstant(createdBefore, ZoneOffset.UTC)
+        );
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    // Timestamps are stored in UTC, as configured for Hibernate with hibernate.jdbc.time_zone
+    private static LocalDateTime toTimestamp(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,6 @@
+package me.tudu.repository;
+
+/**
+ * A notification written for a user by a fan-out.
+ */
+public record NotificationRecipient(Long notificationId, Long userId, String login) {}
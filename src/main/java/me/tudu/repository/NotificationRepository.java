@@ -1,8 +1,14 @@
 package me.tudu.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import me.tudu.domain.Notification;
+import me.tudu.domain.enumeration.Status;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,6 +17,103 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    String SELECT_INBOX = "select notification from Notification notification";
+
+    // A row value comparison, which seeks the index instead of filtering it
+    String AFTER_INBOX = "(notification.createdAt, notification.id) < (:createdAt, :id)";
+
+    String ORDER_INBOX = " order by notification.createdAt desc, notification.id desc";
+
     @Query("select notification from Notification notification where notification.user.login = ?#{authentication.name}")
     List<Notification> findByUserIsCurrentUser();
+
+    /**
+     * Count the unread notifications of a user, through the index on {@code notification(user_id, status, created_at, id)}.
+     *
+     * @param userId the id of the user.
+     * @param read the status of the notifications that have been read.
+     * @return the number of notifications of the user without the {@code read} status.
+     */
+    @Query(
+        "select count(notification) from Notification notification" +
+        " where notification.user.id = :userId and (notification.status is null or notification.status <> :read)"
+    )
+    long countUnreadByUserId(@Param("userId") Long userId, @Param("read") Status read);
+
+    @Query(
+        "select new me.tudu.repository.UserNotificationCount(notification.user.id, count(notification))" +
+        " from Notification notification" +
+        " where notification.user.id in :userIds and (notification.status is null or notification.status <> :read)" +
+        " group by notification.user.id"
+    )
+    List<UserNotificationCount> countUnreadByUserIdIn(@Param("userIds") Collection<Long> userIds, @Param("read") Status read);
+
+    /**
+     * Get the first page of the notifications of a user, newest first, through the index on
+     * {@code notification(user_id, created_at, id)}.
+     *
+     * @param userId the id of the user.
+     * @param pageable the page size, from the first page.
+     * @return the notifications.
+     */
+    @Query(SELECT_INBOX + " where notification.user.id = :userId" + ORDER_INBOX)
+    List<Notification> findInboxByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Get a page of the notifications of a user, newest first, after a notification.
+     *
+     * @param userId the id of the user.
+     * @param createdAt the creation date of the notification the page comes after.
+     * @param id the id of the notification the page comes after.
+     * @param pageable the page size, from the first page.
+     * @return the notifications.
+     */
+    @Query(SELECT_INBOX + " where notification.user.id = :userId and " + AFTER_INBOX + ORDER_INBOX)
+    List<Notification> findInboxByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Get the first page of the notifications of a user with a status, newest first, through the index on
+     * {@code notification(user_id, status, created_at, id)}.
+     *
+     * @param userId the id of the user.
+     * @param status the status of the notifications.
+     * @param pageable the page size, from the first page.
+     * @return the notifications.
+     */
+    @Query(SELECT_INBOX + " where notification.user.id = :userId and notification.status = :status" + ORDER_INBOX)
+    List<Notification> findInboxByUserIdAndStatus(@Param("userId") Long userId, @Param("status") Status status, Pageable pageable);
+
+    /**
+     * Get a page of the notifications of a user with a status, newest first, after a notification.
+     *
+     * @param userId the id of the user.
+     * @param status the status of the notifications.
+     * @param createdAt the creation date of the notification the page comes after.
+     * @param id the id of the notification the page comes after.
+     * @param pageable the page size, from the first page.
+     * @return the notifications.
+     */
+    @Query(
+        SELECT_INBOX + " where notification.user.id = :userId and notification.status = :status and " + AFTER_INBOX + ORDER_INBOX
+    )
+    List<Notification> findInboxByUserIdAndStatusAfter(
+        @Param("userId") Long userId,
+        @Param("status") Status status,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Get the creation date of the oldest notification, the notifications created before having expired.
+     *
+     * @return the creation date, or empty if there is no notification.
+     */
+    @Query("select min(notification.createdAt) from Notification notification")
+    Optional<Instant> findOldestCreatedAt();
 }
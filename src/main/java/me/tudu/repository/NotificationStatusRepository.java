@@ -0,0 +1,38 @@
+package me.tudu.repository;
+
+import java.util.List;
+import me.tudu.domain.enumeration.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository changing the status of the notifications of a user in one statement, bypassing Hibernate so that only the
+ * notifications changed have to be evicted from the second-level cache.
+ */
+@Repository
+public class NotificationStatusRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationStatusRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Set the status of all the notifications of a user that do not have it yet, through the index on
+     * {@code notification(user_id, status, created_at, id)}.
+     *
+     * @param userId the id of the user.
+     * @param status the status.
+     * @return the ids of the notifications changed.
+     */
+    public List<Long> updateStatusByUserId(Long userId, Status status) {
+        return jdbcTemplate.queryForList(
+            "update notification set status = ? where user_id = ? and (status is null or status <> ?) returning id",
+            Long.class,
+            status.name(),
+            userId,
+            status.name()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package me.tudu.repository;
+
+import java.time.Instant;
+
+/**
+ * An entry of the search outbox: an indexed entity written, whose document has to be indexed again or deleted.
+ */
+public record SearchOutboxEntry(Long id, String entityType, Long entityId, Instant createdAt) {}
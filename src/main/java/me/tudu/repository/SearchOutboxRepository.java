@@ -0,0 +1,100 @@
+package me.tudu.repository;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the entries of {@code search_outbox}.
+ */
+@Repository
+public class SearchOutboxRepository {
+
+    // Arbitrary key of the advisory lock held by the instance draining the outbox
+    private static final long DRAIN_LOCK_KEY = 4_712_055_919L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add an entry for each entity written, in one statement.
+     *
+     * @param entityType the type of the entities.
+     * @param entityIds the ids of the entities.
+     */
+    public void insert(String entityType, Collection<Long> entityIds) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                "insert into search_outbox (entity_type, entity_id, created_at) select ?, unnest(?), timezone('utc', now())"
+            );
+            statement.setString(1, entityType);
+            statement.setArray(2, connection.createArrayOf("bigint", entityIds.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Try to lock the outbox until the end of the transaction, so only one instance drains it at a time and the documents
+     * of an entity are never written out of order.
+     *
+     * @return {@code true} if the lock was acquired.
+     */
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, DRAIN_LOCK_KEY));
+    }
+
+    /**
+     * Read the oldest entries.
+     *
+     * @param limit the maximum number of entries.
+     * @return the entries, in order of id.
+     */
+    public List<SearchOutboxEntry> findFirst(int limit) {
+        return jdbcTemplate.query(
+            "select id, entity_type, entity_id, created_at from search_outbox order by id limit ?",
+            (rs, rowNum) ->
+                new SearchOutboxEntry(
+                    rs.getLong("id"),
+                    rs.getString("entity_type"),
+                    rs.getLong("entity_id"),
+                    toInstant(rs.getObject("created_at", LocalDateTime.class))
+                ),
+            limit
+        );
+    }
+
+    /**
+     * Get the creation date of the oldest entry.
+     *
+     * @return the creation date, or empty if the outbox is empty.
+     */
+    public Optional<Instant> findOldestCreatedAt() {
+        return jdbcTemplate
+            .queryForList("select created_at from search_outbox order by id limit 1", LocalDateTime.class)
+            .stream()
+            .findFirst()
+            .map(SearchOutboxRepository::toInstant);
+    }
+
+    public void deleteByIdIn(Collection<Long> ids) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("delete from search_outbox where id = any(?)");
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+
+    // Timestamps are stored in UTC, as configured for Hibernate with hibernate.jdbc.time_zone
+    private static Instant toInstant(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant(ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,17 @@
+package me.tudu.repository;
+
+import java.time.Instant;
+import me.tudu.domain.enumeration.SearchReindexStatus;
+
+/**
+ * A row of the {@code search_reindex_job} table: the state and progress of a full reindex of the search indices.
+ */
+public record SearchReindexJob(
+    String id,
+    SearchReindexStatus status,
+    long documentsIndexed,
+    String error,
+    Instant createdAt,
+    Instant updatedAt,
+    Instant finishedAt
+) {}
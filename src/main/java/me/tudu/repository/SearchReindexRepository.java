@@ -0,0 +1,161 @@
+package me.tudu.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import me.tudu.domain.Notification;
+import me.tudu.domain.Task;
+import me.tudu.domain.User;
+import me.tudu.domain.Workspace;
+import me.tudu.domain.enumeration.SearchReindexStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the full reindex of the search indices: its jobs, the ids of the indexed entities, read by keyset, and the
+ * tombstones of the documents deleted while an index is built.
+ */
+@Repository
+public class SearchReindexRepository {
+
+    // Arbitrary key of the advisory lock serializing the creation of the jobs
+    private static final long SUBMIT_LOCK_KEY = 4_712_055_920L;
+
+    private static final Map<Class<?>, String> TABLES = Map.of(
+        Task.class,
+        "task",
+        Workspace.class,
+        "workspace",
+        Notification.class,
+        "notification",
+        User.class,
+        "jhi_user"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchReindexRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert a job, unless another one is queued or running and has been updated since {@code staleBefore}.
+     *
+     * @param job the job to insert.
+     * @param staleBefore the date before which the last update of a job that is not finished means it was abandoned.
+     * @return {@code true} if the job was inserted.
+     */
+    @Transactional
+    public boolean insertJobIfIdle(SearchReindexJob job, Instant staleBefore) {
+        jdbcTemplate.query("select pg_advisory_xact_lock(?)", rs -> {}, SUBMIT_LOCK_KEY);
+        int inserted = jdbcTemplate.update(
+            "insert into search_reindex_job (id, status, documents_indexed, error, created_at, updated_at, finished_at)" +
+            " select ?, ?, ?, ?, ?, ?, ? where not exists (" +
+            "select 1 from search_reindex_job where status in (?, ?) and updated_at >= ?)",
+            job.id(),
+            job.status().name(),
+            job.documentsIndexed(),
+            job.error(),
+            toTimestamp(job.createdAt()),
+            toTimestamp(job.updatedAt()),
+            toTimestamp(job.finishedAt()),
+            SearchReindexStatus.QUEUED.name(),
+            SearchReindexStatus.RUNNING.name(),
+            toTimestamp(staleBefore)
+        );
+        return inserted == 1;
+    }
+
+    public void updateJob(SearchReindexJob job) {
+        jdbcTemplate.update(
+            "update search_reindex_job set status = ?, documents_indexed = ?, error = ?, updated_at = ?, finished_at = ? where id = ?",
+            job.status().name(),
+            job.documentsIndexed(),
+            job.error(),
+            toTimestamp(job.updatedAt()),
+            toTimestamp(job.finishedAt()),
+            job.id()
+        );
+    }
+
+    public Optional<SearchReindexJob> findJob(String id) {
+        return jdbcTemplate.query("select * from search_reindex_job where id = ?", SearchReindexRepository::toJob, id).stream().findFirst();
+    }
+
+    /**
+     * Get the next ids of an indexed entity, in order, so the entities are read by keyset in chunks of bounded cost.
+     *
+     * @param entityClass the class of the entity.
+     * @param afterId the last id of the previous chunk, exclusive.
+     * @param limit the maximum number of ids.
+     * @return the ids, in ascending order.
+     */
+    public List<Long> findIdsAfter(Class<?> entityClass, long afterId, int limit) {
+        String table = TABLES.get(entityClass);
+        if (table == null) {
+            throw new IllegalArgumentException("Not an indexed entity: " + entityClass.getName());
+        }
+        return jdbcTemplate.queryForList("select id from " + table + " where id > ? order by id limit ?", Long.class, afterId, limit);
+    }
+
+    /**
+     * Add the tombstones of documents deleted while the index of their alias is built, in a transaction of its own, so
+     * they are committed before the deletes are sent and a build finished meanwhile reads them.
+     *
+     * @param aliasName the alias of the documents.
+     * @param entityIds the ids of the deleted entities.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void insertTombstones(String aliasName, Collection<Long> entityIds) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                "insert into search_reindex_tombstone (alias_name, entity_id) select ?, unnest(?) on conflict do nothing"
+            );
+            statement.setString(1, aliasName);
+            statement.setArray(2, connection.createArrayOf("bigint", entityIds.toArray()));
+            return statement;
+        });
+    }
+
+    public List<Long> findTombstones(String aliasName) {
+        return jdbcTemplate.queryForList(
+            "select entity_id from search_reindex_tombstone where alias_name = ? order by entity_id",
+            Long.class,
+            aliasName
+        );
+    }
+
+    public void deleteTombstones(String aliasName) {
+        jdbcTemplate.update("delete from search_reindex_tombstone where alias_name = ?", aliasName);
+    }
+
+    private static SearchReindexJob toJob(ResultSet rs, int rowNum) throws SQLException {
+        return new SearchReindexJob(
+            rs.getString("id"),
+            SearchReindexStatus.valueOf(rs.getString("status")),
+            rs.getLong("documents_indexed"),
+            rs.getString("error"),
+            toInstant(rs.getObject("created_at", LocalDateTime.class)),
+            toInstant(rs.getObject("updated_at", LocalDateTime.class)),
+            toInstant(rs.getObject("finished_at", LocalDateTime.class))
+        );
+    }
+
+    // Timestamps are stored in UTC, as configured for Hibernate with hibernate.jdbc.time_zone
+    private static LocalDateTime toTimestamp(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+
+    private static Instant toInstant(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant(ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,20 @@
+package me.tudu.repository;
+
+import java.time.Instant;
+import me.tudu.domain.enumeration.TaskImportStatus;
+
+/**
+ * A row of the {@code task_import_job} table: the state and progress of a bulk task import.
+ */
+public record TaskImportJob(
+    String id,
+    String format,
+    TaskImportStatus status,
+    long rowsRead,
+    long rowsRejected,
+    long rowsImported,
+    long rowsIndexed,
+    String errors,
+    Instant createdAt,
+    Instant finishedAt
+) {}
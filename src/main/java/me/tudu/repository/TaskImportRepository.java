@@ -0,0 +1,209 @@
+package me.tudu.repository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import me.tudu.domain.enumeration.TaskImportStatus;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the bulk task import: its jobs, and the staging table the imported rows are copied into with the
+ * PostgreSQL {@code COPY} protocol before being merged into {@code task} and {@code rel_task__user}.
+ */
+@Repository
+public class TaskImportRepository {
+
+    /**
+     * The columns of the CSV copied into the staging table, in order.
+     */
+    public static final String STAGING_COLUMNS =
+        "job_id, line_number, title, description, due_date, priority, status, category, created_at, updated_at, privilege," +
+        " workspace_id, user_ids";
+
+    /**
+     * The allocation size of {@code sequence_generator}: each value it returns is the highest id of a block that the
+     * Hibernate pooled optimizer hands out, so ids allocated here are taken by whole blocks too.
+     */
+    static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private static final String ASSIGN_TASK_IDS =
+        """
+        with numbered as (
+            select line_number, row_number() over (order by line_number) - 1 as n from task_import_staging where job_id = ?
+        ), blocks as (
+            select b - 1 as block, nextval('sequence_generator') as hi
+            from generate_series(1, (select (count(*) + %1$d - 1) / %1$d from numbered)) as b
+        )
+        update task_import_staging s set task_id = blocks.hi - %1$d + 1 + numbered.n %% %1$d
+        from numbered join blocks on blocks.block = numbered.n / %1$d
+        where s.job_id = ? and s.line_number = numbered.line_number
+        """.formatted(SEQUENCE_ALLOCATION_SIZE);
+
+    private static final String INSERT_TASKS =
+        """
+        insert into task (id, title, description, due_date, priority, status, category, created_at, updated_at, privilege,
+            workspace_id, version)
+        select task_id, title, description, due_date, priority, status, category, created_at, updated_at, privilege,
+            workspace_id, 0
+        from task_import_staging where job_id = ?
+        """;
+
+    private static final String INSERT_TASK_USERS =
+        """
+        insert into rel_task__user (task_id, user_id)
+        select distinct s.task_id, u.user_id from task_import_staging s cross join lateral unnest(s.user_ids) as u(user_id)
+        where s.job_id = ?
+        """;
+
+    private static final String DELETE_UNKNOWN_REFERENCES =
+        """
+        delete from task_import_staging s
+        where s.job_id = ? and (
+            (s.workspace_id is not null and not exists (select 1 from workspace w where w.id = s.workspace_id))
+            or exists (
+                select 1 from unnest(s.user_ids) as u(user_id) where not exists (select 1 from jhi_user j where j.id = u.user_id)
+            )
+        )
+        returning s.line_number
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertJob(TaskImportJob job) {
+        jdbcTemplate.update(
+            "insert into task_import_job (id, format, status, rows_read, rows_rejected, rows_imported, rows_indexed, errors," +
+            " created_at, finished_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            job.id(),
+            job.format(),
+            job.status().name(),
+            job.rowsRead(),
+            job.rowsRejected(),
+            job.rowsImported(),
+            job.rowsIndexed(),
+            job.errors(),
+            toTimestamp(job.createdAt()),
+            toTimestamp(job.finishedAt())
+        );
+    }
+
+    public void updateJob(TaskImportJob job) {
+        jdbcTemplate.update(
+            "update task_import_job set status = ?, rows_read = ?, rows_rejected = ?, rows_imported = ?, rows_indexed = ?," +
+            " errors = ?, finished_at = ? where id = ?",
+            job.status().name(),
+            job.rowsRead(),
+            job.rowsRejected(),
+            job.rowsImported(),
+            job.rowsIndexed(),
+            job.errors(),
+            toTimestamp(job.finishedAt()),
+            job.id()
+        );
+    }
+
+    public Optional<TaskImportJob> findJob(String id) {
+        return jdbcTemplate.query("select * from task_import_job where id = ?", TaskImportRepository::toJob, id).stream().findFirst();
+    }
+
+    /**
+     * Copy rows into the staging table.
+     *
+     * @param csv the rows, as CSV without header, with the {@link #STAGING_COLUMNS} columns.
+     * @return the number of rows copied.
+     */
+    public long copyToStaging(Reader csv) {
+        String sql = "copy task_import_staging (" + STAGING_COLUMNS + ") from stdin with (format csv)";
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Remove the staged rows of a job that refer to a workspace or a user that does not exist.
+     *
+     * @param jobId the id of the job.
+     * @return the line numbers of the removed rows.
+     */
+    public List<Long> deleteUnknownReferences(String jobId) {
+        return jdbcTemplate.queryForList(DELETE_UNKNOWN_REFERENCES, Long.class, jobId);
+    }
+
+    /**
+     * Merge the staged rows of a job into {@code task} and {@code rel_task__user}, all or nothing.
+     *
+     * @param jobId the id of the job.
+     * @return the number of tasks created.
+     */
+    @Transactional
+    public long merge(String jobId) {
+        jdbcTemplate.update(ASSIGN_TASK_IDS, jobId, jobId);
+        long imported = jdbcTemplate.update(INSERT_TASKS, jobId);
+        jdbcTemplate.update(INSERT_TASK_USERS, jobId);
+        return imported;
+    }
+
+    /**
+     * Get the ids of the tasks created from a range of lines of a merged job.
+     *
+     * @param jobId the id of the job.
+     * @param fromLine the first line number, inclusive.
+     * @param toLine the last line number, exclusive.
+     * @return the task ids.
+     */
+    public List<Long> findTaskIds(String jobId, long fromLine, long toLine) {
+        return jdbcTemplate.queryForList(
+            "select task_id from task_import_staging where job_id = ? and line_number >= ? and line_number < ?",
+            Long.class,
+            jobId,
+            fromLine,
+            toLine
+        );
+    }
+
+    public void deleteStaging(String jobId) {
+        jdbcTemplate.update("delete from task_import_staging where job_id = ?", jobId);
+    }
+
+    private static TaskImportJob toJob(ResultSet rs, int rowNum) throws SQLException {
+        return new TaskImportJob(
+            rs.getString("id"),
+            rs.getString("format"),
+            TaskImportStatus.valueOf(rs.getString("status")),
+            rs.getLong("rows_read"),
+            rs.getLong("rows_rejected"),
+            rs.getLong("rows_imported"),
+            rs.getLong("rows_indexed"),
+            rs.getString("errors"),
+            toInstant(rs.getObject("created_at", LocalDateTime.class)),
+            toInstant(rs.getObject("finished_at", LocalDateTime.class))
+        );
+    }
+
+    // Timestamps are stored in UTC, as configured for Hibernate with hibernate.jdbc.time_zone
+    private static LocalDateTime toTimestamp(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+
+    private static Instant toInstant(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant(ZoneOffset.UTC) : null;
+    }
+}
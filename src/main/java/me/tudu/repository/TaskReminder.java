@@ -0,0 +1,8 @@
+package me.tudu.repository;
+
+import java.time.Instant;
+
+/**
+ * A task due soon, with one of the users assigned to it: each reminder becomes a notification of that user.
+ */
+public record TaskReminder(Long taskId, String title, Instant dueDate, Long userId) {}
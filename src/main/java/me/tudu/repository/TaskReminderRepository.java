@@ -0,0 +1,141 @@
+package me.tudu.repository;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import me.tudu.domain.Notification;
+import me.tudu.domain.enumeration.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the due-date reminders: the tasks due in a range of time, the notifications they create, and the
+ * high-water marks in {@code task_reminder_mark} that keep each range from being read twice.
+ */
+@Repository
+public class TaskReminderRepository {
+
+    private static final String FIND_DUE_ASSIGNMENTS =
+        """
+        select t.id, t.title, t.due_date, r.user_id
+        from task t join rel_task__user r on r.task_id = t.id
+        where t.due_date > ? and t.due_date <= ? and (t.status is null or t.status <> ?)
+        order by t.due_date, t.id, r.user_id
+        """;
+
+    private static final String INSERT_NOTIFICATION =
+        "insert into notification (id, message, status, created_at, user_id) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskReminderRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lock the high-water mark of a lead time until the end of the transaction, creating it if needed.
+     *
+     * @param leadTime the lead time of the reminders.
+     * @param initialDueUntil the mark to create when there is none.
+     * @return the due date up to which the reminders have been sent.
+     */
+    public Instant lockMark(Duration leadTime, Instant initialDueUntil) {
+        jdbcTemplate.update(
+            "insert into task_reminder_mark (lead_time, due_until) values (?, ?) on conflict (lead_time) do nothing",
+            leadTime.toSeconds(),
+            toTimestamp(initialDueUntil)
+        );
+        return toInstant(
+            jdbcTemplate.queryForObject(
+                "select due_until from task_reminder_mark where lead_time = ? for update",
+                LocalDateTime.class,
+                leadTime.toSeconds()
+            )
+        );
+    }
+
+    public void updateMark(Duration leadTime, Instant dueUntil) {
+        jdbcTemplate.update("update task_reminder_mark set due_until = ? where lead_time = ?", toTimestamp(dueUntil), leadTime.toSeconds());
+    }
+
+    /**
+     * Read the assigned users of the tasks that are not completed and are due in a range, through the index on
+     * {@code task(due_date)}.
+     * <p>
+     * The rows are fetched from the database as they are consumed, so this must be called inside a transaction.
+     *
+     * @param dueAfter the start of the range, exclusive.
+     * @param dueUntil the end of the range, inclusive.
+     * @param fetchSize the number of rows fetched per round trip.
+     * @param consumer the consumer of the reminders, in due date order.
+     */
+    public void findDueAssignments(Instant dueAfter, Instant dueUntil, int fetchSize, Consumer<TaskReminder> consumer) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(FIND_DUE_ASSIGNMENTS);
+                statement.setFetchSize(fetchSize);
+                statement.setObject(1, toTimestamp(dueAfter));
+                statement.setObject(2, toTimestamp(dueUntil));
+                statement.setString(3, Status.COMPLETED.name());
+                return statement;
+            },
+            rs -> {
+                consumer.accept(
+                    new TaskReminder(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        toInstant(rs.getObject("due_date", LocalDateTime.class)),
+                        rs.getLong("user_id")
+                    )
+                );
+            }
+        );
+    }
+
+    /**
+     * Allocate notification ids from {@code sequence_generator}, by whole blocks of the Hibernate pooled optimizer.
+     *
+     * @param count the number of ids.
+     * @return the ids.
+     */
+    public List<Long> allocateIds(int count) {
+        int blocks = (count + TaskImportRepository.SEQUENCE_ALLOCATION_SIZE - 1) / TaskImportRepository.SEQUENCE_ALLOCATION_SIZE;
+        List<Long> his = jdbcTemplate.queryForList("select nextval('sequence_generator') from generate_series(1, ?)", Long.class, blocks);
+        List<Long> ids = new ArrayList<>(count);
+        for (Long hi : his) {
+            for (long id = hi - TaskImportRepository.SEQUENCE_ALLOCATION_SIZE + 1; id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Insert notifications, which already have their id, in one JDBC batch.
+     *
+     * @param notifications the notifications.
+     */
+    public void insertNotifications(List<Notification> notifications) {
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, notifications, notifications.size(), (statement, notification) -> {
+            statement.setLong(1, notification.getId());
+            statement.setString(2, notification.getMessage());
+            statement.setString(3, notification.getStatus() != null ? notification.getStatus().name() : null);
+            statement.setObject(4, toTimestamp(notification.getCreatedAt()));
+            statement.setLong(5, notification.getUser().getId());
+        });
+    }
+
+    // Timestamps are stored in UTC, as configured for Hibernate with hibernate.jdbc.time_zone
+    private static LocalDateTime toTimestamp(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+
+    private static Instant toInstant(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant(ZoneOffset.UTC) : null;
+    }
+}
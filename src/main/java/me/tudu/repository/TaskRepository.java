@@ -1,11 +1,19 @@
 package me.tudu.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import me.tudu.domain.Task;
+import me.tudu.domain.Workspace;
+import me.tudu.domain.enumeration.Status;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -15,7 +23,7 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface TaskRepository extends TaskRepositoryWithBagRelationships, JpaRepository<Task, Long> {
+public interface TaskRepository extends TaskRepositoryWithBagRelationships, JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     default Optional<Task> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findById(id));
     }
@@ -27,4 +35,144 @@ public interface TaskRepository extends TaskRepositoryWithBagRelationships, JpaR
     default Page<Task> findAllWithEagerRelationships(Pageable pageable) {
         return this.fetchBagRelationships(this.findAll(pageable));
     }
+
+    String SELECT_SUMMARY =
+        "select new me.tudu.repository.TaskSummary(task.id, task.title, task.description, task.dueDate, task.priority," +
+        " task.status, task.category, task.createdAt, task.updatedAt, task.privilege, task.version, task.workspace.id)";
+
+    /**
+     * Number of rows fetched per round trip when streaming tasks.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    @Query(value = SELECT_SUMMARY + " from Task task", countQuery = "select count(task) from Task task")
+    Page<TaskSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * Stream all the tasks, in id order, through a server-side cursor.
+     * <p>
+     * The stream must be consumed, and closed, inside a transaction: the rows are fetched from the database as it is
+     * consumed.
+     *
+     * @return the tasks.
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE) })
+    @Query(SELECT_SUMMARY + " from Task task order by task.id")
+    Stream<TaskSummary> streamAllSummaries();
+
+    @Query(SELECT_SUMMARY + " from Task task where task.id in :ids")
+    List<TaskSummary> findAllSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Get the ids of the tasks assigned to a user, in ascending order, through the index on
+     * {@code rel_task__user(user_id, task_id)}.
+     *
+     * @param login the login of the user.
+     * @param afterId the id the tasks come after.
+     * @param limit the maximum number of ids.
+     * @return the ids.
+     */
+    @Query(
+        value = "select r.task_id from rel_task__user r join jhi_user u on u.id = r.user_id" +
+        " where u.login = :login and r.task_id > :afterId order by r.task_id limit :limit",
+        nativeQuery = true
+    )
+    List<Long> findTaskIdsByUserLoginAfter(@Param("login") String login, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Get the ids of the tasks assigned to a user, in descending order, through the index on
+     * {@code rel_task__user(user_id, task_id)}.
+     *
+     * @param login the login of the user.
+     * @param beforeId the id the tasks come before.
+     * @param limit the maximum number of ids.
+     * @return the ids.
+     */
+    @Query(
+        value = "select r.task_id from rel_task__user r join jhi_user u on u.id = r.user_id" +
+        " where u.login = :login and r.task_id < :beforeId order by r.task_id desc limit :limit",
+        nativeQuery = true
+    )
+    List<Long> findTaskIdsByUserLoginBefore(@Param("login") String login, @Param("beforeId") long beforeId, @Param("limit") int limit);
+
+    @Query("select task.version from Task task where task.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Count the tasks of a workspace by status and priority, in one aggregation over the index on
+     * {@code task(workspace_id, status, due_date)}.
+     *
+     * @param workspaceId the id of the workspace.
+     * @param now the point in time the tasks are overdue from, unless they have the {@code completed} status.
+     * @param completed the status of the tasks that are never overdue.
+     * @return the counts of each status and priority.
+     */
+    @Query(
+        "select new me.tudu.repository.WorkspaceTaskCount(task.status, task.priority, count(task)," +
+        " sum(case when task.dueDate < :now and (task.status is null or task.status <> :completed) then 1 else 0 end)," +
+        " min(case when task.dueDate >= :now and (task.status is null or task.status <> :completed) then task.dueDate end))" +
+        " from Task task where task.workspace.id = :workspaceId group by task.status, task.priority"
+    )
+    List<WorkspaceTaskCount> countByWorkspace(
+        @Param("workspaceId") Long workspaceId,
+        @Param("now") Instant now,
+        @Param("completed") Status completed
+    );
+
+    @Query("select task.id from Task task where task.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move tasks to a workspace, incrementing their version, in one bulk update.
+     *
+     * @param ids the ids of the tasks.
+     * @param workspace the workspace.
+     * @return the number of tasks moved.
+     */
+    @Modifying
+    @Query("update Task task set task.workspace = :workspace, task.version = task.version + 1 where task.id in :ids")
+    int moveAllByIdIn(@Param("ids") Collection<Long> ids, @Param("workspace") Workspace workspace);
+
+    @Modifying
+    @Query("update Task task set task.version = task.version + 1 where task.id in :ids")
+    int incrementVersionByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Assign tasks to a user in place of another one, for the tasks the other user is assigned to.
+     * <p>
+     * This and {@link #deleteUserByIdIn} synchronize on {@code rel_task__user}, so Hibernate evicts the cached users of the
+     * tasks, and nothing else, from the second-level cache.
+     *
+     * @param ids the ids of the tasks.
+     * @param fromUserId the id of the user the tasks are assigned to.
+     * @param toUserId the id of the user to assign the tasks to.
+     * @return the number of assignments added.
+     */
+    @Modifying
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "rel_task__user") })
+    @Query(
+        value = "insert into rel_task__user (task_id, user_id) select r.task_id, :toUserId from rel_task__user r" +
+        " where r.user_id = :fromUserId and r.task_id in (:ids) on conflict do nothing",
+        nativeQuery = true
+    )
+    int addUserInPlaceOf(@Param("ids") Collection<Long> ids, @Param("fromUserId") Long fromUserId, @Param("toUserId") Long toUserId);
+
+    @Modifying
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "rel_task__user") })
+    @Query(
+        value = "insert into rel_task__user (task_id, user_id) select task.id, :userId from task where task.id in (:ids)" +
+        " on conflict do nothing",
+        nativeQuery = true
+    )
+    int addUserByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "rel_task__user") })
+    @Query(value = "delete from rel_task__user where task_id in (:ids) and user_id = :userId", nativeQuery = true)
+    int deleteUserByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "rel_task__user") })
+    @Query(value = "delete from rel_task__user where task_id in (:ids)", nativeQuery = true)
+    int deleteUsersByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,6 +1,8 @@
 package me.tudu.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import me.tudu.domain.Task;
 import org.springframework.data.domain.Page;
@@ -11,4 +13,12 @@ public interface TaskRepositoryWithBagRelationships {
     List<Task> fetchBagRelationships(List<Task> tasks);
 
     Page<Task> fetchBagRelationships(Page<Task> tasks);
+
+    /**
+     * Read the ids of the users of the given tasks, without loading the tasks or the users.
+     *
+     * @param taskIds the ids of the tasks.
+     * @return the user ids of each task that has users.
+     */
+    Map<Long, List<Long>> fetchUserIds(Collection<Long> taskIds);
 }
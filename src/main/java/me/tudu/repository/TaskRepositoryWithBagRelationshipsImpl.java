@@ -2,12 +2,17 @@ package me.tudu.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import me.tudu.domain.Task;
+import org.hibernate.Session;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -18,6 +23,7 @@ public class TaskRepositoryWithBagRelationshipsImpl implements TaskRepositoryWit
 
     private static final String ID_PARAMETER = "id";
     private static final String TASKS_PARAMETER = "tasks";
+    private static final String TASK_IDS_PARAMETER = "taskIds";
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -37,6 +43,25 @@ public class TaskRepositoryWithBagRelationshipsImpl implements TaskRepositoryWit
         return Optional.of(tasks).map(this::fetchUsers).orElse(Collections.emptyList());
     }
 
+    @Override
+    public Map<Long, List<Long>> fetchUserIds(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        // One row per task, aggregated by the database, instead of one row per assignment
+        List<Object[]> rows = entityManager
+            .unwrap(Session.class)
+            .createNativeQuery(
+                "select task_id, array_agg(user_id) as user_ids from rel_task__user where task_id in (:taskIds) group by task_id",
+                Object[].class
+            )
+            .addScalar("task_id", Long.class)
+            .addScalar("user_ids", Long[].class)
+            .setParameter(TASK_IDS_PARAMETER, taskIds)
+            .getResultList();
+        return rows.stream().collect(Collectors.toMap(row -> (Long) row[0], row -> Arrays.asList((Long[]) row[1])));
+    }
+
     Task fetchUsers(Task result) {
         return entityManager
             .createQuery("select task from Task task left join fetch task.users where task.id = :id", Task.class)
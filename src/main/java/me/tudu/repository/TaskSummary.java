@@ -0,0 +1,26 @@
+package me.tudu.repository;
+
+import java.time.Instant;
+import me.tudu.domain.enumeration.Priority;
+import me.tudu.domain.enumeration.Privilege;
+import me.tudu.domain.enumeration.Status;
+
+/**
+ * A read-only projection of the columns of a {@link me.tudu.domain.Task}, without its relationships.
+ * <p>
+ * Rows read as summaries are never managed by the persistence context nor put in the second-level cache.
+ */
+public record TaskSummary(
+    Long id,
+    String title,
+    String description,
+    Instant dueDate,
+    Priority priority,
+    Status status,
+    String category,
+    Instant createdAt,
+    Instant updatedAt,
+    Privilege privilege,
+    Long version,
+    Long workspaceId
+) {}
@@ -0,0 +1,6 @@
+package me.tudu.repository;
+
+/**
+ * The number of notifications of a user.
+ */
+public record UserNotificationCount(Long userId, Long count) {}
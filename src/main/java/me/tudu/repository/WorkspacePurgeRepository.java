@@ -0,0 +1,67 @@
+package me.tudu.repository;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the purge of a workspace: set-based deletes of the workspace, its tasks and their relationships, which
+ * bypass the persistence context and the Hibernate second-level cache.
+ */
+@Repository
+public class WorkspacePurgeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WorkspacePurgeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lock a workspace until the end of the transaction, so no task can be added to it meanwhile.
+     *
+     * @param id the id of the workspace.
+     * @return {@code true} if the workspace exists.
+     */
+    public boolean lockWorkspace(Long id) {
+        return !jdbcTemplate.queryForList("select id from workspace where id = ? for update", Long.class, id).isEmpty();
+    }
+
+    /**
+     * Delete the users of the tasks of a workspace.
+     *
+     * @param workspaceId the id of the workspace.
+     * @return the number of rows deleted.
+     */
+    public int deleteTaskUsers(Long workspaceId) {
+        return jdbcTemplate.update("delete from rel_task__user where task_id in (select id from task where workspace_id = ?)", workspaceId);
+    }
+
+    /**
+     * Delete the tasks of a workspace, through the indexes on {@code task(workspace_id, ...)}.
+     *
+     * @param workspaceId the id of the workspace.
+     * @return the ids of the tasks deleted.
+     */
+    public List<Long> deleteTasks(Long workspaceId) {
+        return jdbcTemplate.queryForList("delete from task where workspace_id = ? returning id", Long.class, workspaceId);
+    }
+
+    /**
+     * Delete the users of a workspace.
+     *
+     * @param workspaceId the id of the workspace.
+     * @return the ids of the users who were members of the workspace.
+     */
+    public List<Long> deleteWorkspaceUsers(Long workspaceId) {
+        return jdbcTemplate.queryForList(
+            "delete from rel_workspace__user where workspace_id = ? returning user_id",
+            Long.class,
+            workspaceId
+        );
+    }
+
+    public int deleteWorkspace(Long id) {
+        return jdbcTemplate.update("delete from workspace where id = ?", id);
+    }
+}
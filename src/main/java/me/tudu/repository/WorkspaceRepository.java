@@ -6,6 +6,7 @@ import me.tudu.domain.Workspace;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -27,4 +28,25 @@ public interface WorkspaceRepository extends WorkspaceRepositoryWithBagRelations
     default Page<Workspace> findAllWithEagerRelationships(Pageable pageable) {
         return this.fetchBagRelationships(this.findAll(pageable));
     }
+
+    /**
+     * Find the ids of the members of a workspace.
+     *
+     * @param id the id of the workspace.
+     * @return the ids of its users.
+     */
+    @Query("select workspaceUser.id from Workspace workspace join workspace.users workspaceUser where workspace.id = :id")
+    List<Long> findUserIdsById(@Param("id") Long id);
+
+    /**
+     * Find the ids of the workspaces of a user, in ascending order, through the index on {@code rel_workspace__user(user_id)}.
+     *
+     * @param userId the id of the user.
+     * @return the ids of the workspaces.
+     */
+    @Query(
+        "select workspace.id from Workspace workspace join workspace.users workspaceUser where workspaceUser.id = :userId" +
+        " order by workspace.id"
+    )
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,11 @@
+package me.tudu.repository;
+
+import java.time.Instant;
+import me.tudu.domain.enumeration.Priority;
+import me.tudu.domain.enumeration.Status;
+
+/**
+ * The number of tasks of a workspace with a status and a priority, of those overdue, and the next due date of those
+ * not overdue yet.
+ */
+public record WorkspaceTaskCount(Status status, Priority priority, Long taskCount, Long overdueCount, Instant nextDueDate) {}
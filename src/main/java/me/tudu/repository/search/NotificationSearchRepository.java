@@ -1,19 +1,24 @@
 package me.tudu.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import java.time.Instant;
 import java.util.List;
 import me.tudu.domain.Notification;
-import me.tudu.repository.NotificationRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.DeleteQuery;
 import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.core.query.types.ConflictsType;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Notification} entity.
@@ -25,21 +30,17 @@ interface NotificationSearchRepositoryInternal {
 
     Page<Notification> search(Query query);
 
-    @Async
-    void index(Notification entity);
+    SearchHits<Notification> searchAfter(String query, Sort sort, int limit, String pointInTimeId, List<Object> searchAfter);
 
-    @Async
-    void deleteFromIndexById(Long id);
+    void deleteFromIndexByCreatedAtBefore(Instant createdBefore);
 }
 
 class NotificationSearchRepositoryInternalImpl implements NotificationSearchRepositoryInternal {
 
     private final ElasticsearchTemplate elasticsearchTemplate;
-    private final NotificationRepository repository;
 
-    NotificationSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, NotificationRepository repository) {
+    NotificationSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate) {
         this.elasticsearchTemplate = elasticsearchTemplate;
-        this.repository = repository;
     }
 
     @Override
@@ -56,12 +57,20 @@ class NotificationSearchRepositoryInternalImpl implements NotificationSearchRepo
     }
 
     @Override
-    public void index(Notification entity) {
-        repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
+    public SearchHits<Notification> searchAfter(String query, Sort sort, int limit, String pointInTimeId, List<Object> searchAfter) {
+        return PointInTimeSearch.search(elasticsearchTemplate, Notification.class, query, sort, limit, pointInTimeId, searchAfter);
     }
 
     @Override
-    public void deleteFromIndexById(Long id) {
-        elasticsearchTemplate.delete(String.valueOf(id), Notification.class);
+    public void deleteFromIndexByCreatedAtBefore(Instant createdBefore) {
+        // Through the build alias too, in the same request, so an index being rebuilt is purged whether or not it is swapped
+        // in meanwhile
+        String alias = elasticsearchTemplate.getIndexCoordinatesFor(Notification.class).getIndexName();
+        CriteriaQuery query = new CriteriaQuery(new Criteria("createdAt").lessThan(createdBefore));
+        elasticsearchTemplate.delete(
+            DeleteQuery.builder(query).withConflicts(ConflictsType.Proceed).withIgnoreUnavailable(true).withAllowNoIndices(true).build(),
+            Notification.class,
+            IndexCoordinates.of(alias, alias + SearchIndexRepository.BUILD_ALIAS_SUFFIX)
+        );
     }
 }
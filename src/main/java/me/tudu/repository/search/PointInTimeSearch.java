@@ -0,0 +1,82 @@
+package me.tudu.repository.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+/**
+ * Deep pagination of a query string search with {@code search_after} over a point in time, shared by the search
+ * repositories.
+ * <p>
+ * The first page opens a point in time on the index of the entity, so the following pages read the same snapshot of it
+ * whatever is indexed meanwhile, and seek past the sort values of the last hit of the previous page instead of skipping
+ * {@code from} hits. The point in time is kept alive by each page, and closed once the last page is read.
+ */
+final class PointInTimeSearch {
+
+    // The time to read the next page in, renewed by each page
+    static final Duration KEEP_ALIVE = Duration.ofMinutes(1);
+
+    // The implicit tiebreaker of the searches over a point in time, made explicit so its value is in the sort values
+    private static final Sort.Order TIEBREAKER = Sort.Order.asc("_shard_doc");
+
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Order.desc("_score"));
+
+    private PointInTimeSearch() {}
+
+    /**
+     * Search for a page of the entities corresponding to a query.
+     *
+     * @param elasticsearchTemplate the template.
+     * @param entityClass the class of the entity.
+     * @param query the query string.
+     * @param sort the order of the hits, or unsorted for the relevance order.
+     * @param limit the maximum number of hits.
+     * @param pointInTimeId the id of the point in time returned with the previous page, or {@code null} for the first page.
+     * @param searchAfter the sort values of the last hit of the previous page, or {@code null} for the first page.
+     * @param <T> the type of the entity.
+     * @return the hits, with the id of the point in time to read the next page with.
+     */
+    static <T> SearchHits<T> search(
+        ElasticsearchTemplate elasticsearchTemplate,
+        Class<T> entityClass,
+        String query,
+        Sort sort,
+        int limit,
+        String pointInTimeId,
+        List<Object> searchAfter
+    ) {
+        String pit = pointInTimeId != null
+            ? pointInTimeId
+            : elasticsearchTemplate.openPointInTime(elasticsearchTemplate.getIndexCoordinatesFor(entityClass), KEEP_ALIVE, false);
+        NativeQueryBuilder builder = NativeQuery.builder()
+            .withQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery())
+            .withPointInTime(new Query.PointInTime(pit, KEEP_ALIVE))
+            .withPageable(PageRequest.of(0, limit))
+            .withSort((sort.isSorted() ? sort : DEFAULT_SORT).and(Sort.by(TIEBREAKER)))
+            .withTrackTotalHits(false);
+        if (searchAfter != null) {
+            builder.withSearchAfter(searchAfter);
+        }
+        SearchHits<T> searchHits;
+        try {
+            searchHits = elasticsearchTemplate.search(builder.build(), entityClass);
+        } catch (RuntimeException e) {
+            if (pointInTimeId == null) {
+                elasticsearchTemplate.closePointInTime(pit);
+            }
+            throw e;
+        }
+        if (searchHits.getSearchHits().size() < limit) {
+            elasticsearchTemplate.closePointInTime(searchHits.getPointInTimeId() != null ? searchHits.getPointInTimeId() : pit);
+        }
+        return searchHits;
+    }
+}
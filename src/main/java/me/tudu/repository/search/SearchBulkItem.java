@@ -0,0 +1,7 @@
+package me.tudu.repository.search;
+
+/**
+ * An operation of a bulk request to the search index: the document of an entity to index, or to delete when the entity
+ * is {@code null}. The entity may already be mapped to its {@link org.springframework.data.elasticsearch.core.document.Document}.
+ */
+public record SearchBulkItem(Class<?> entityClass, Long id, Object entity) {}
@@ -0,0 +1,168 @@
+package me.tudu.repository.search;
+
+import co.elastic.clients.elasticsearch._types.OpType;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import me.tudu.repository.SearchReindexRepository;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository sending the documents of entities of any indexed type to Elasticsearch in {@code _bulk} requests.
+ * <p>
+ * The documents are sent through the alias of their entity, and also through its build alias while its index is rebuilt,
+ * see {@link SearchIndexRepository}. The build only creates the documents that are not indexed yet, so it never overwrites
+ * a document written meanwhile from a more recent read of its entity; and as it may have read an entity before it was
+ * deleted, the deletes sent through a build alias leave a tombstone, for the build to delete the document again once done.
+ */
+@Repository
+public class SearchBulkRepository {
+
+    // The error of the creation of a document already indexed
+    private static final String VERSION_CONFLICT = "version_conflict_engine_exception";
+
+    private final ElasticsearchTemplate elasticsearchTemplate;
+
+    private final SearchIndexRepository searchIndexRepository;
+
+    private final SearchReindexRepository searchReindexRepository;
+
+    public SearchBulkRepository(
+        ElasticsearchTemplate elasticsearchTemplate,
+        SearchIndexRepository searchIndexRepository,
+        SearchReindexRepository searchReindexRepository
+    ) {
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.searchIndexRepository = searchIndexRepository;
+        this.searchReindexRepository = searchReindexRepository;
+    }
+
+    /**
+     * Index and delete documents in one {@code _bulk} request, with the refresh policy of the template.
+     * <p>
+     * The build aliases are read after the entities, so an entity read before its index started to be built is also read
+     * by the build, and an entity read after is written to both indices. The tombstones of the deletes sent through a build
+     * alias are committed before the request.
+     *
+     * @param items the operations, applied in order.
+     * @throws DataAccessResourceFailureException if any operation failed; the others may have been applied.
+     */
+    public void bulk(List<SearchBulkItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Set<String> buildAliases = searchIndexRepository.findBuildAliases();
+        List<BulkOperation> operations = new ArrayList<>();
+        Map<String, List<Long>> tombstones = new LinkedHashMap<>();
+        for (SearchBulkItem item : items) {
+            String alias = searchIndexRepository.getAliasName(item.entityClass());
+            operations.add(operation(alias, item));
+            if (buildAliases.contains(alias + SearchIndexRepository.BUILD_ALIAS_SUFFIX)) {
+                // The build alias is gone once the index is swapped in, so the operation fails, and is retried, rather than
+                // creating an index of that name
+                operations.add(operation(alias + SearchIndexRepository.BUILD_ALIAS_SUFFIX, item, OpType.Index, true));
+                if (item.entity() == null) {
+                    tombstones.computeIfAbsent(alias, key -> new ArrayList<>()).add(item.id());
+                }
+            }
+        }
+        tombstones.forEach(searchReindexRepository::insertTombstones);
+        send(operations, false);
+    }
+
+    /**
+     * Create documents in an index being built, unless they are already indexed, and delete documents, in one
+     * {@code _bulk} request with the refresh policy of the template.
+     *
+     * @param indexName the name of the index.
+     * @param items the operations, applied in order.
+     * @throws DataAccessResourceFailureException if any operation failed other than the creation of a document already
+     * indexed; the others may have been applied.
+     */
+    public void bulkCreate(String indexName, List<SearchBulkItem> items) {
+        if (!items.isEmpty()) {
+            send(items.stream().map(item -> operation(indexName, item, OpType.Create, false)).toList(), true);
+        }
+    }
+
+    /**
+     * Map the entities of operations to their documents, so they can be sent once the entities are detached.
+     *
+     * @param items the operations.
+     * @return the operations, with their documents instead of their entities.
+     */
+    public List<SearchBulkItem> mapAll(List<SearchBulkItem> items) {
+        return items
+            .stream()
+            .map(item -> item.entity() != null ? new SearchBulkItem(item.entityClass(), item.id(), document(item.entity())) : item)
+            .toList();
+    }
+
+    private void send(List<BulkOperation> operations, boolean ignoreConflicts) {
+        BulkRequest request = BulkRequest.of(b -> b.operations(operations).refresh(refresh(elasticsearchTemplate.getRefreshPolicy())));
+        BulkResponse response = elasticsearchTemplate.execute(client -> client.bulk(request));
+        if (response.errors()) {
+            List<BulkResponseItem> failures = response
+                .items()
+                .stream()
+                .filter(item -> item.error() != null && !(ignoreConflicts && VERSION_CONFLICT.equals(item.error().type())))
+                .toList();
+            if (failures.isEmpty()) {
+                return;
+            }
+            throw new DataAccessResourceFailureException(
+                failures.size() +
+                " of " +
+                operations.size() +
+                " bulk operations failed, the first one on " +
+                failures.get(0).index() +
+                "/" +
+                failures.get(0).id() +
+                ": " +
+                failures.get(0).error().reason()
+            );
+        }
+    }
+
+    private static Refresh refresh(RefreshPolicy refreshPolicy) {
+        if (refreshPolicy == null) {
+            return null;
+        }
+        return switch (refreshPolicy) {
+            case IMMEDIATE -> Refresh.True;
+            case WAIT_UNTIL -> Refresh.WaitFor;
+            case NONE -> Refresh.False;
+        };
+    }
+
+    private BulkOperation operation(String indexName, SearchBulkItem item) {
+        return operation(indexName, item, OpType.Index, false);
+    }
+
+    private BulkOperation operation(String indexName, SearchBulkItem item, OpType opType, boolean requireAlias) {
+        String id = String.valueOf(item.id());
+        if (item.entity() == null) {
+            return BulkOperation.of(o -> o.delete(d -> d.index(indexName).id(id)));
+        }
+        Document document = document(item.entity());
+        if (opType == OpType.Create) {
+            return BulkOperation.of(o -> o.create(c -> c.index(indexName).id(id).document(document).requireAlias(requireAlias)));
+        }
+        return BulkOperation.of(o -> o.index(i -> i.index(indexName).id(id).document(document).requireAlias(requireAlias)));
+    }
+
+    private Document document(Object entity) {
+        return entity instanceof Document document ? document : elasticsearchTemplate.getElasticsearchConverter().mapObject(entity);
+    }
+}
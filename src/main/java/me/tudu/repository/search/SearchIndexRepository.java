@@ -0,0 +1,140 @@
+package me.tudu.repository.search;
+
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository managing the versioned indices behind the aliases the entities are indexed and searched through.
+ * <p>
+ * The name of the {@code @Document} index of an entity is used as an alias of its current index, so an index can be built
+ * next to it and swapped in atomically. While an index is built, the {@link #BUILD_ALIAS_SUFFIX} alias of the entity
+ * points to it, and the writes of the entity go to both.
+ */
+@Repository
+public class SearchIndexRepository {
+
+    /**
+     * The suffix of the alias of the index of an entity that is being built.
+     */
+    public static final String BUILD_ALIAS_SUFFIX = "_reindex";
+
+    private static final String REFRESH_INTERVAL = "index.refresh_interval";
+
+    private static final String DEFAULT_REFRESH_INTERVAL = "1s";
+
+    private final ElasticsearchTemplate elasticsearchTemplate;
+
+    public SearchIndexRepository(ElasticsearchTemplate elasticsearchTemplate) {
+        this.elasticsearchTemplate = elasticsearchTemplate;
+    }
+
+    /**
+     * Get the alias the documents of an entity are indexed and searched through.
+     *
+     * @param entityClass the class of the entity.
+     * @return the name of the {@code @Document} index of the entity.
+     */
+    public String getAliasName(Class<?> entityClass) {
+        return elasticsearchTemplate.getIndexCoordinatesFor(entityClass).getIndexName();
+    }
+
+    /**
+     * Create an index to build for an entity, with its settings and mapping, and point the build alias of the entity to
+     * it. The index is not refreshed until {@link #finishIndex(Class, String)}.
+     *
+     * @param entityClass the class of the entity.
+     * @param indexName the name of the index.
+     */
+    public void createIndex(Class<?> entityClass, String indexName) {
+        IndexOperations entityIndexOperations = elasticsearchTemplate.indexOps(entityClass);
+        Settings settings = entityIndexOperations.createSettings().flatten();
+        settings.put(REFRESH_INTERVAL, "-1");
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(indexName)).create(settings, entityIndexOperations.createMapping());
+        String buildAlias = getAliasName(entityClass) + BUILD_ALIAS_SUFFIX;
+        updateAliases(List.of(Action.of(a -> a.add(add -> add.index(indexName).alias(buildAlias)))));
+    }
+
+    /**
+     * Restore the refresh of a built index, and refresh it.
+     *
+     * @param entityClass the class of the entity.
+     * @param indexName the name of the index.
+     */
+    public void finishIndex(Class<?> entityClass, String indexName) {
+        Object refreshInterval = elasticsearchTemplate.indexOps(entityClass).createSettings().flatten().get(REFRESH_INTERVAL);
+        String interval = refreshInterval != null ? refreshInterval.toString() : DEFAULT_REFRESH_INTERVAL;
+        elasticsearchTemplate.execute(client ->
+            client.indices().putSettings(p -> p.index(indexName).settings(s -> s.refreshInterval(t -> t.time(interval))))
+        );
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(indexName)).refresh();
+    }
+
+    /**
+     * Point the alias of an entity to a built index, and remove its build alias, atomically; then delete the indices the
+     * alias pointed to. An index named as the alias, as created on startup before the first swap, is replaced by it.
+     *
+     * @param entityClass the class of the entity.
+     * @param indexName the name of the built index.
+     * @return the names of the indices the alias pointed to, now deleted.
+     */
+    public List<String> swapIndex(Class<?> entityClass, String indexName) {
+        String alias = getAliasName(entityClass);
+        List<String> previousIndices = new ArrayList<>();
+        List<Action> actions = new ArrayList<>();
+        elasticsearchTemplate.execute(client -> {
+            if (client.indices().existsAlias(e -> e.name(alias)).value()) {
+                previousIndices.addAll(client.indices().getAlias(g -> g.name(alias)).result().keySet());
+                previousIndices.forEach(previous -> actions.add(Action.of(a -> a.remove(r -> r.index(previous).alias(alias)))));
+            } else if (client.indices().exists(e -> e.index(alias)).value()) {
+                actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+            }
+            return null;
+        });
+        actions.add(Action.of(a -> a.add(add -> add.index(indexName).alias(alias))));
+        actions.add(Action.of(a -> a.remove(r -> r.index(indexName).alias(alias + BUILD_ALIAS_SUFFIX))));
+        updateAliases(actions);
+        if (!previousIndices.isEmpty()) {
+            elasticsearchTemplate.execute(client -> client.indices().delete(d -> d.index(previousIndices)));
+        }
+        return previousIndices;
+    }
+
+    /**
+     * Delete an index, with its aliases.
+     *
+     * @param indexName the name of the index.
+     */
+    public void deleteIndex(String indexName) {
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(indexName)).delete();
+    }
+
+    /**
+     * Find the build aliases, of the indices being built.
+     *
+     * @return the names of the aliases.
+     */
+    public Set<String> findBuildAliases() {
+        return elasticsearchTemplate.execute(client ->
+            client
+                .indices()
+                .getAlias(g -> g.name("*" + BUILD_ALIAS_SUFFIX))
+                .result()
+                .values()
+                .stream()
+                .flatMap(index -> index.aliases().keySet().stream())
+                .collect(Collectors.toSet())
+        );
+    }
+
+    private void updateAliases(List<Action> actions) {
+        elasticsearchTemplate.execute(client -> client.indices().updateAliases(u -> u.actions(actions)));
+    }
+}
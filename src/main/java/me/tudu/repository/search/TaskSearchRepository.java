@@ -1,19 +1,26 @@
 package me.tudu.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
 import java.util.List;
 import me.tudu.domain.Task;
-import me.tudu.repository.TaskRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitSupport;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchPage;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.HighlightQuery;
 import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.core.query.highlight.Highlight;
+import org.springframework.data.elasticsearch.core.query.highlight.HighlightField;
+import org.springframework.data.elasticsearch.core.query.highlight.HighlightFieldParameters;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Task} entity.
@@ -25,21 +32,38 @@ interface TaskSearchRepositoryInternal {
 
     Page<Task> search(Query query);
 
-    @Async
-    void index(Task entity);
+    SearchHits<Task> searchAfter(String query, Sort sort, int limit, String pointInTimeId, List<Object> searchAfter);
 
-    @Async
-    void deleteFromIndexById(Long id);
+    SearchPage<Task> searchProjected(String query, List<String> sourceFields, Pageable pageable);
+
+    List<Task> suggest(String prefix, int size);
 }
 
 class TaskSearchRepositoryInternalImpl implements TaskSearchRepositoryInternal {
 
+    // The search_as_you_type sub-field of the title, with its shingles
+    private static final List<String> SUGGEST_FIELDS = List.of("title.suggest", "title.suggest._2gram", "title.suggest._3gram");
+
+    private static final String[] SUGGEST_SOURCE = { "id", "title" };
+
+    // The title is highlighted whole, and the description by one fragment, so the hits stay small whatever its length
+    private static final HighlightQuery SEARCH_HIGHLIGHT = new HighlightQuery(
+        new Highlight(
+            List.of(
+                new HighlightField("title", HighlightFieldParameters.builder().withNumberOfFragments(0).build()),
+                new HighlightField(
+                    "description",
+                    HighlightFieldParameters.builder().withNumberOfFragments(1).withFragmentSize(150).withNoMatchSize(0).build()
+                )
+            )
+        ),
+        Task.class
+    );
+
     private final ElasticsearchTemplate elasticsearchTemplate;
-    private final TaskRepository repository;
 
-    TaskSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, TaskRepository repository) {
+    TaskSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate) {
         this.elasticsearchTemplate = elasticsearchTemplate;
-        this.repository = repository;
     }
 
     @Override
@@ -56,12 +80,29 @@ class TaskSearchRepositoryInternalImpl implements TaskSearchRepositoryInternal {
     }
 
     @Override
-    public void index(Task entity) {
-        repository.findOneWithEagerRelationships(entity.getId()).ifPresent(elasticsearchTemplate::save);
+    public SearchHits<Task> searchAfter(String query, Sort sort, int limit, String pointInTimeId, List<Object> searchAfter) {
+        return PointInTimeSearch.search(elasticsearchTemplate, Task.class, query, sort, limit, pointInTimeId, searchAfter);
+    }
+
+    @Override
+    public SearchPage<Task> searchProjected(String query, List<String> sourceFields, Pageable pageable) {
+        NativeQuery nativeQuery = NativeQuery.builder()
+            .withQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery())
+            .withSourceFilter(new FetchSourceFilter(sourceFields.toArray(String[]::new), null))
+            .withHighlightQuery(SEARCH_HIGHLIGHT)
+            .withPageable(pageable)
+            .build();
+        return SearchHitSupport.searchPageFor(elasticsearchTemplate.search(nativeQuery, Task.class), pageable);
     }
 
     @Override
-    public void deleteFromIndexById(Long id) {
-        elasticsearchTemplate.delete(String.valueOf(id), Task.class);
+    public List<Task> suggest(String prefix, int size) {
+        NativeQuery nativeQuery = NativeQuery.builder()
+            .withQuery(q -> q.multiMatch(mm -> mm.query(prefix).type(TextQueryType.BoolPrefix).fields(SUGGEST_FIELDS)))
+            .withSourceFilter(new FetchSourceFilter(SUGGEST_SOURCE, null))
+            .withMaxResults(size)
+            .withTrackTotalHits(false)
+            .build();
+        return elasticsearchTemplate.search(nativeQuery, Task.class).map(SearchHit::getContent).stream().toList();
     }
 }
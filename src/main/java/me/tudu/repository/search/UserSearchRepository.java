@@ -1,15 +1,15 @@
 package me.tudu.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import java.util.List;
 import java.util.stream.Stream;
 import me.tudu.domain.User;
-import me.tudu.repository.UserRepository;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Spring Data Elasticsearch repository for the User entity.
@@ -19,23 +19,15 @@ public interface UserSearchRepository extends ElasticsearchRepository<User, Long
 interface UserSearchRepositoryInternal {
     Stream<User> search(String query);
 
-    @Async
-    @Transactional
-    void index(User entity);
-
-    @Async
-    @Transactional
-    void deleteFromIndex(User entity);
+    SearchHits<User> searchAfter(String query, Sort sort, int limit, String pointInTimeId, List<Object> searchAfter);
 }
 
 class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
 
     private final ElasticsearchTemplate elasticsearchTemplate;
-    private final UserRepository repository;
 
-    UserSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, UserRepository repository) {
+    UserSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate) {
         this.elasticsearchTemplate = elasticsearchTemplate;
-        this.repository = repository;
     }
 
     @Override
@@ -45,12 +37,7 @@ class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
     }
 
     @Override
-    public void index(User entity) {
-        repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
-    }
-
-    @Override
-    public void deleteFromIndex(User entity) {
-        elasticsearchTemplate.delete(entity);
+    public SearchHits<User> searchAfter(String query, Sort sort, int limit, String pointInTimeId, List<Object> searchAfter) {
+        return PointInTimeSearch.search(elasticsearchTemplate, User.class, query, sort, limit, pointInTimeId, searchAfter);
     }
 }
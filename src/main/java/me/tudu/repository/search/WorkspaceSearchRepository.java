@@ -1,19 +1,20 @@
 package me.tudu.repository.search;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
 import java.util.List;
 import me.tudu.domain.Workspace;
-import me.tudu.repository.WorkspaceRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Workspace} entity.
@@ -25,21 +26,22 @@ interface WorkspaceSearchRepositoryInternal {
 
     Page<Workspace> search(Query query);
 
-    @Async
-    void index(Workspace entity);
+    SearchHits<Workspace> searchAfter(String query, Sort sort, int limit, String pointInTimeId, List<Object> searchAfter);
 
-    @Async
-    void deleteFromIndexById(Long id);
+    List<Workspace> suggest(String prefix, int size);
 }
 
 class WorkspaceSearchRepositoryInternalImpl implements WorkspaceSearchRepositoryInternal {
 
+    // The search_as_you_type sub-field of the name, with its shingles
+    private static final List<String> SUGGEST_FIELDS = List.of("name.suggest", "name.suggest._2gram", "name.suggest._3gram");
+
+    private static final String[] SUGGEST_SOURCE = { "id", "name" };
+
     private final ElasticsearchTemplate elasticsearchTemplate;
-    private final WorkspaceRepository repository;
 
-    WorkspaceSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, WorkspaceRepository repository) {
+    WorkspaceSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate) {
         this.elasticsearchTemplate = elasticsearchTemplate;
-        this.repository = repository;
     }
 
     @Override
@@ -56,12 +58,18 @@ class WorkspaceSearchRepositoryInternalImpl implements WorkspaceSearchRepository
     }
 
     @Override
-    public void index(Workspace entity) {
-        repository.findOneWithEagerRelationships(entity.getId()).ifPresent(elasticsearchTemplate::save);
+    public SearchHits<Workspace> searchAfter(String query, Sort sort, int limit, String pointInTimeId, List<Object> searchAfter) {
+        return PointInTimeSearch.search(elasticsearchTemplate, Workspace.class, query, sort, limit, pointInTimeId, searchAfter);
     }
 
     @Override
-    public void deleteFromIndexById(Long id) {
-        elasticsearchTemplate.delete(String.valueOf(id), Workspace.class);
+    public List<Workspace> suggest(String prefix, int size) {
+        NativeQuery nativeQuery = NativeQuery.builder()
+            .withQuery(q -> q.multiMatch(mm -> mm.query(prefix).type(TextQueryType.BoolPrefix).fields(SUGGEST_FIELDS)))
+            .withSourceFilter(new FetchSourceFilter(SUGGEST_SOURCE, null))
+            .withMaxResults(size)
+            .withTrackTotalHits(false)
+            .build();
+        return elasticsearchTemplate.search(nativeQuery, Workspace.class).map(SearchHit::getContent).stream().toList();
     }
 }
@@ -0,0 +1,78 @@
+package me.tudu.service;
+
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping a version stamp per entity type, changed whenever an entity of that type is written.
+ * <p>
+ * The stamps are shared by all the instances through Redis, so a conditional GET on a collection can be answered from the
+ * stamp alone, without reading the database. A stamp starts from the current time, so it never goes back to a value
+ * already handed out when the counter is lost.
+ */
+@Service
+public class CollectionVersionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CollectionVersionService.class);
+
+    private static final String KEY_PREFIX = "collection-version:";
+
+    private final RedissonClient redissonClient;
+
+    public CollectionVersionService(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * Get the current version stamp of an entity type.
+     *
+     * @param entityClass the entity type.
+     * @return the version stamp.
+     */
+    public long current(Class<?> entityClass) {
+        RAtomicLong counter = counter(entityClass);
+        long stamp = counter.get();
+        if (stamp == 0) {
+            counter.compareAndSet(0, System.currentTimeMillis());
+            stamp = counter.get();
+        }
+        return stamp;
+    }
+
+    /**
+     * Change the version stamp of an entity type, once the current transaction is committed.
+     *
+     * @param entityClass the entity type written.
+     */
+    public void increment(Class<?> entityClass) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        incrementNow(entityClass);
+                    }
+                }
+            );
+        } else {
+            incrementNow(entityClass);
+        }
+    }
+
+    private void incrementNow(Class<?> entityClass) {
+        RAtomicLong counter = counter(entityClass);
+        if (!counter.compareAndSet(0, System.currentTimeMillis())) {
+            long stamp = counter.incrementAndGet();
+            LOG.debug("Version of {} is now {}", entityClass.getSimpleName(), stamp);
+        }
+    }
+
+    private RAtomicLong counter(Class<?> entityClass) {
+        return redissonClient.getAtomicLong(KEY_PREFIX + entityClass.getSimpleName());
+    }
+}
@@ -0,0 +1,142 @@
+package me.tudu.service;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.function.Function;
+import me.tudu.service.dto.KeysetCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Seek predicates and orderings for keyset pagination over entities identified by a {@code Long id}.
+ * <p>
+ * Rows are ordered by the sort key and then by id, both in the requested direction. Sort keys may be nullable: as in
+ * PostgreSQL's default ordering, {@code null} is treated as the largest value.
+ */
+public final class KeysetSpecifications {
+
+    private static final String ID = "id";
+
+    private KeysetSpecifications() {}
+
+    /**
+     * A property that keyset listings of {@code T} may be sorted on.
+     *
+     * @param <T> the entity type.
+     */
+    public static final class SortKey<T> {
+
+        private final Class<? extends Comparable<?>> type;
+
+        private final Function<T, ?> getter;
+
+        private SortKey(Class<? extends Comparable<?>> type, Function<T, ?> getter) {
+            this.type = type;
+            this.getter = getter;
+        }
+
+        public static <T> SortKey<T> of(Class<? extends Comparable<?>> type, Function<T, ?> getter) {
+            return new SortKey<>(type, getter);
+        }
+
+        String valueOf(T entity) {
+            return Objects.toString(getter.apply(entity), null);
+        }
+
+        Comparable<Object> parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                if (Instant.class.equals(type)) {
+                    return cast(Instant.parse(value));
+                }
+                if (Long.class.equals(type)) {
+                    return cast(Long.valueOf(value));
+                }
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Malformed cursor value: " + value, e);
+            }
+            if (String.class.equals(type)) {
+                return cast(value);
+            }
+            throw new IllegalArgumentException("Unsupported keyset sort type: " + type.getName());
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Comparable<Object> cast(Comparable<?> value) {
+            return (Comparable<Object>) value;
+        }
+    }
+
+    /**
+     * The ordering of a keyset listing: the sort key, then the id as a tie-breaker.
+     *
+     * @param property the sort property.
+     * @param direction the sort direction.
+     * @return the ordering.
+     */
+    public static Sort sort(String property, Sort.Direction direction) {
+        if (ID.equals(property)) {
+            return Sort.by(direction, ID);
+        }
+        return Sort.by(direction, property).and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Build the cursor pointing just after the given row.
+     *
+     * @param entity the last row of the current page.
+     * @param id the id of that row.
+     * @param property the sort property.
+     * @param direction the sort direction.
+     * @param key the sort key of {@code property}.
+     * @param <T> the entity type.
+     * @return the cursor of the next page.
+     */
+    public static <T> KeysetCursor cursorAfter(T entity, Long id, String property, Sort.Direction direction, SortKey<T> key) {
+        return new KeysetCursor(property, direction, id, key.valueOf(entity));
+    }
+
+    /**
+     * Restrict a listing to the rows that come after the cursor.
+     *
+     * @param cursor the cursor of the page to read.
+     * @param key the sort key of the cursor property.
+     * @param <T> the entity type.
+     * @return the seek predicate.
+     * @throws IllegalArgumentException if the cursor value cannot be read as the sort key type.
+     */
+    public static <T> Specification<T> after(KeysetCursor cursor, SortKey<T> key) {
+        Comparable<Object> value = key.parse(cursor.getValue());
+        boolean ascending = cursor.getDirection().isAscending();
+        return (root, query, cb) -> {
+            Path<Long> id = root.get(ID);
+            Predicate tieBreak = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+            if (ID.equals(cursor.getProperty())) {
+                return tieBreak;
+            }
+            return seek(cb, root.get(cursor.getProperty()), value, tieBreak, ascending);
+        };
+    }
+
+    private static Predicate seek(
+        CriteriaBuilder cb,
+        Path<Comparable<Object>> key,
+        Comparable<Object> value,
+        Predicate tieBreak,
+        boolean ascending
+    ) {
+        if (value == null) {
+            Predicate sameKey = cb.and(cb.isNull(key), tieBreak);
+            return ascending ? sameKey : cb.or(cb.isNotNull(key), sameKey);
+        }
+        Predicate beyondKey = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        Predicate sameKey = cb.and(cb.equal(key, value), tieBreak);
+        return ascending ? cb.or(beyondKey, sameKey, cb.isNull(key)) : cb.or(beyondKey, sameKey);
+    }
+}
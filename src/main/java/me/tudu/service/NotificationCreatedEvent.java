@@ -0,0 +1,12 @@
+package me.tudu.service;
+
+import java.io.Serializable;
+import me.tudu.service.dto.NotificationDTO;
+
+/**
+ * Event published when a notification is created, to be delivered to its user once the transaction is committed.
+ *
+ * @param login the login of the user of the notification.
+ * @param notification the notification created.
+ */
+public record NotificationCreatedEvent(String login, NotificationDTO notification) implements Serializable {}
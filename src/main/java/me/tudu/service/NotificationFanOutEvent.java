@@ -0,0 +1,51 @@
+package me.tudu.service;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.service.dto.NotificationDTO;
+import me.tudu.service.dto.UserDTO;
+
+/**
+ * Event published when a notification is sent to the members of a workspace, to be delivered to each of them once the
+ * transaction is committed. It carries the notifications created as one message, so they are relayed at once.
+ *
+ * @param message the message of the notifications.
+ * @param status the status of the notifications.
+ * @param createdAt the creation date of the notifications.
+ * @param recipients the notification created for each member.
+ */
+public record NotificationFanOutEvent(String message, Status status, Instant createdAt, List<Recipient> recipients)
+    implements Serializable {
+    /**
+     * The notification created for a member.
+     *
+     * @param notificationId the id of the notification.
+     * @param userId the id of the member.
+     * @param login the login of the member.
+     */
+    public record Recipient(Long notificationId, Long userId, String login) implements Serializable {}
+
+    /**
+     * Expand the event into the notification created for each member.
+     *
+     * @return the events of the notifications.
+     */
+    public List<NotificationCreatedEvent> toNotificationCreatedEvents() {
+        return recipients
+            .stream()
+            .map(recipient -> {
+                UserDTO user = new UserDTO();
+                user.setId(recipient.userId());
+                NotificationDTO notification = new NotificationDTO();
+                notification.setId(recipient.notificationId());
+                notification.setMessage(message);
+                notification.setStatus(status);
+                notification.setCreatedAt(createdAt);
+                notification.setUser(user);
+                return new NotificationCreatedEvent(recipient.login(), notification);
+            })
+            .toList();
+    }
+}
@@ -0,0 +1,113 @@
+package me.tudu.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import me.tudu.config.ApplicationProperties;
+import me.tudu.domain.Notification;
+import me.tudu.repository.NotificationPartitionRepository;
+import me.tudu.repository.search.NotificationSearchRepository;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service maintaining the monthly partitions of the notifications, by month of creation in UTC.
+ * <p>
+ * The partitions are created from the oldest month kept by {@code application.notification-partition.retention} to
+ * {@code application.notification-partition.premade-months} ahead of the current month, so the notifications written
+ * never land in the default partition. The partitions of the months past the retention are dropped whole, and the
+ * matching documents are deleted from the index by range of creation date. The unread notification counters are left to
+ * their reconciliation.
+ */
+@Service
+@Transactional
+public class NotificationPartitionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationPartitionService.class);
+
+    private final NotificationPartitionRepository notificationPartitionRepository;
+
+    private final NotificationSearchRepository notificationSearchRepository;
+
+    private final CollectionVersionService collectionVersionService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties applicationProperties;
+
+    public NotificationPartitionService(
+        NotificationPartitionRepository notificationPartitionRepository,
+        NotificationSearchRepository notificationSearchRepository,
+        CollectionVersionService collectionVersionService,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties
+    ) {
+        this.notificationPartitionRepository = notificationPartitionRepository;
+        this.notificationSearchRepository = notificationSearchRepository;
+        this.collectionVersionService = collectionVersionService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Create the upcoming partitions and drop the expired ones.
+     * <p>
+     * This is scheduled to get fired every {@code application.notification-partition.delay} after the end of the previous
+     * run.
+     */
+    @Scheduled(fixedDelayString = "${application.notification-partition.delay:PT6H}")
+    public void maintainPartitions() {
+        if (applicationProperties.getNotificationPartition().isEnabled()) {
+            maintainPartitions(Instant.now());
+        }
+    }
+
+    /**
+     * Create the upcoming partitions and drop the expired ones, as of a point in time.
+     *
+     * @param now the point in time the retention is counted back from.
+     * @return the number of partitions dropped.
+     */
+    public int maintainPartitions(Instant now) {
+        ApplicationProperties.NotificationPartition properties = applicationProperties.getNotificationPartition();
+        YearMonth first = YearMonth.from(now.minus(properties.getRetention()).atOffset(ZoneOffset.UTC));
+        YearMonth last = YearMonth.from(now.atOffset(ZoneOffset.UTC)).plusMonths(properties.getPremadeMonths());
+
+        notificationPartitionRepository.lock();
+        List<YearMonth> partitions = notificationPartitionRepository.findPartitions();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!partitions.contains(month)) {
+                int moved = notificationPartitionRepository.createPartition(month);
+                LOG.debug("Created the Notification partition of {}, with {} notifications", month, moved);
+            }
+        }
+
+        List<YearMonth> expired = partitions.stream().filter(month -> month.isBefore(first)).toList();
+        expired.forEach(notificationPartitionRepository::dropPartition);
+        Instant createdBefore = first.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        int deleted = notificationPartitionRepository.deleteFromDefaultPartition(createdBefore);
+        LOG.debug("Dropped the Notification partitions of {}, and {} notifications created before {}", expired, deleted, createdBefore);
+
+        if (!expired.isEmpty() || deleted > 0) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(Notification.class);
+                        notificationSearchRepository.deleteFromIndexByCreatedAtBefore(createdBefore);
+                    }
+                }
+            );
+            collectionVersionService.increment(Notification.class);
+        }
+        return expired.size();
+    }
+}
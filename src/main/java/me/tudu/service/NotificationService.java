@@ -1,17 +1,44 @@
 package me.tudu.service;
 
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import me.tudu.domain.Notification;
+import me.tudu.domain.User;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.repository.NotificationFanOutRepository;
+import me.tudu.repository.NotificationRecipient;
 import me.tudu.repository.NotificationRepository;
+import me.tudu.repository.NotificationStatusRepository;
+import me.tudu.repository.UserRepository;
+import me.tudu.repository.WorkspaceRepository;
 import me.tudu.repository.search.NotificationSearchRepository;
+import me.tudu.security.SecurityUtils;
+import me.tudu.service.dto.KeysetCursor;
+import me.tudu.service.dto.KeysetSlice;
 import me.tudu.service.dto.NotificationDTO;
+import me.tudu.service.dto.NotificationFanOutDTO;
+import me.tudu.service.dto.SearchCursor;
+import me.tudu.service.dto.SearchSlice;
 import me.tudu.service.mapper.NotificationMapper;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link me.tudu.domain.Notification}.
@@ -22,24 +49,62 @@ public class NotificationService {
 
     private static final Logger LOG = LoggerFactory.getLogger(NotificationService.class);
 
+    private static final String INBOX_PROPERTY = "createdAt";
+
     private final NotificationRepository notificationRepository;
 
     private final NotificationMapper notificationMapper;
 
     private final NotificationSearchRepository notificationSearchRepository;
 
+    private final CollectionVersionService collectionVersionService;
+
+    private final UnreadNotificationCountService unreadNotificationCountService;
+
+    private final UserRepository userRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final NotificationFanOutRepository notificationFanOutRepository;
+
+    private final WorkspaceRepository workspaceRepository;
+
+    private final NotificationStatusRepository notificationStatusRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final SearchOutboxService searchOutboxService;
+
     public NotificationService(
         NotificationRepository notificationRepository,
         NotificationMapper notificationMapper,
-        NotificationSearchRepository notificationSearchRepository
+        NotificationSearchRepository notificationSearchRepository,
+        CollectionVersionService collectionVersionService,
+        UnreadNotificationCountService unreadNotificationCountService,
+        UserRepository userRepository,
+        ApplicationEventPublisher applicationEventPublisher,
+        NotificationFanOutRepository notificationFanOutRepository,
+        WorkspaceRepository workspaceRepository,
+        NotificationStatusRepository notificationStatusRepository,
+        EntityManagerFactory entityManagerFactory,
+        SearchOutboxService searchOutboxService
     ) {
         this.notificationRepository = notificationRepository;
         this.notificationMapper = notificationMapper;
         this.notificationSearchRepository = notificationSearchRepository;
+        this.collectionVersionService = collectionVersionService;
+        this.unreadNotificationCountService = unreadNotificationCountService;
+        this.userRepository = userRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.notificationFanOutRepository = notificationFanOutRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.notificationStatusRepository = notificationStatusRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.searchOutboxService = searchOutboxService;
     }
 
     /**
-     * Save a notification.
+     * Save a notification, and push it to its user once the transaction is committed.
      *
      * @param notificationDTO the entity to save.
      * @return the persisted entity.
@@ -47,9 +112,61 @@ public class NotificationService {
     public NotificationDTO save(NotificationDTO notificationDTO) {
         LOG.debug("Request to save Notification : {}", notificationDTO);
         Notification notification = notificationMapper.toEntity(notificationDTO);
+        if (notification.getCreatedAt() == null) {
+            // The creation date is the partition key of the notifications
+            notification.setCreatedAt(Instant.now());
+        }
         notification = notificationRepository.save(notification);
-        notificationSearchRepository.index(notification);
-        return notificationMapper.toDto(notification);
+        searchOutboxService.enqueue(Notification.class, notification.getId());
+        collectionVersionService.increment(Notification.class);
+        unreadNotificationCountService.addChange(null, notification);
+        NotificationDTO result = notificationMapper.toDto(notification);
+        if (notification.getUser() != null) {
+            userRepository
+                .findById(notification.getUser().getId())
+                .map(User::getLogin)
+                .ifPresent(login -> applicationEventPublisher.publishEvent(new NotificationCreatedEvent(login, result)));
+        }
+        return result;
+    }
+
+    /**
+     * Send a notification to all the members of a workspace: the notifications are inserted by one statement, queued for
+     * indexing by another, and pushed to their users once the transaction is committed.
+     *
+     * @param notificationFanOutDTO the workspace and the message of the notifications.
+     * @return the number of notifications created.
+     * @throws IllegalArgumentException if the workspace does not exist.
+     */
+    public int fanOut(NotificationFanOutDTO notificationFanOutDTO) {
+        LOG.debug("Request to send a Notification to the members of a Workspace : {}", notificationFanOutDTO);
+        if (!workspaceRepository.existsById(notificationFanOutDTO.getWorkspaceId())) {
+            throw new IllegalArgumentException("Workspace " + notificationFanOutDTO.getWorkspaceId() + " not found");
+        }
+        Instant now = Instant.now();
+        List<NotificationRecipient> recipients = notificationFanOutRepository.insertForWorkspaceMembers(
+            notificationFanOutDTO.getWorkspaceId(),
+            notificationFanOutDTO.getMessage(),
+            Status.PENDING,
+            now
+        );
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+        List<NotificationFanOutEvent.Recipient> eventRecipients = new ArrayList<>(recipients.size());
+        Map<Long, Long> unreadCounts = new HashMap<>();
+        for (NotificationRecipient recipient : recipients) {
+            eventRecipients.add(new NotificationFanOutEvent.Recipient(recipient.notificationId(), recipient.userId(), recipient.login()));
+            unreadCounts.merge(recipient.userId(), 1L, Long::sum);
+        }
+        searchOutboxService.enqueueAll(Notification.class, recipients.stream().map(NotificationRecipient::notificationId).toList());
+        collectionVersionService.increment(Notification.class);
+        unreadNotificationCountService.addAll(unreadCounts);
+        // One event for all the members, relayed at once rather than one message per member
+        applicationEventPublisher.publishEvent(
+            new NotificationFanOutEvent(notificationFanOutDTO.getMessage(), Status.PENDING, now, eventRecipients)
+        );
+        return recipients.size();
     }
 
     /**
@@ -60,9 +177,16 @@ public class NotificationService {
      */
     public NotificationDTO update(NotificationDTO notificationDTO) {
         LOG.debug("Request to update Notification : {}", notificationDTO);
+        Optional<Notification> existingNotification = notificationRepository.findById(notificationDTO.getId());
+        Notification before = existingNotification.map(NotificationService::snapshot).orElse(null);
         Notification notification = notificationMapper.toEntity(notificationDTO);
+        if (notification.getCreatedAt() == null) {
+            notification.setCreatedAt(existingNotification.map(Notification::getCreatedAt).orElseGet(Instant::now));
+        }
         notification = notificationRepository.save(notification);
-        notificationSearchRepository.index(notification);
+        searchOutboxService.enqueue(Notification.class, notification.getId());
+        collectionVersionService.increment(Notification.class);
+        unreadNotificationCountService.addChange(before, notification);
         return notificationMapper.toDto(notification);
     }
 
@@ -78,13 +202,16 @@ public class NotificationService {
         return notificationRepository
             .findById(notificationDTO.getId())
             .map(existingNotification -> {
+                Notification before = snapshot(existingNotification);
                 notificationMapper.partialUpdate(existingNotification, notificationDTO);
+                unreadNotificationCountService.addChange(before, existingNotification);
 
                 return existingNotification;
             })
             .map(notificationRepository::save)
             .map(savedNotification -> {
-                notificationSearchRepository.index(savedNotification);
+                searchOutboxService.enqueue(Notification.class, savedNotification.getId());
+                collectionVersionService.increment(Notification.class);
                 return savedNotification;
             })
             .map(notificationMapper::toDto);
@@ -114,6 +241,103 @@ public class NotificationService {
         return notificationRepository.findById(id).map(notificationMapper::toDto);
     }
 
+    /**
+     * Get a page of the notifications of the current user by keyset pagination, newest first.
+     * <p>
+     * The page is read from the index on the notifications of a user by creation date, so it takes the same time whatever
+     * the number of notifications of the user.
+     *
+     * @param size the page size.
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @param status the status of the notifications, or {@code null} for all of them.
+     * @return the page of entities, with the cursor of the next page if there is one.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<NotificationDTO> findInboxOfCurrentUser(int size, KeysetCursor cursor, Status status) {
+        LOG.debug("Request to get a keyset page of the Notifications of the current user after {}", cursor);
+        Instant createdAt = null;
+        if (cursor != null) {
+            if (!INBOX_PROPERTY.equals(cursor.getProperty()) || cursor.getDirection() != Sort.Direction.DESC || cursor.getValue() == null) {
+                throw new IllegalArgumentException("Unsupported keyset cursor: " + cursor);
+            }
+            try {
+                createdAt = Instant.parse(cursor.getValue());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Malformed cursor value: " + cursor.getValue(), e);
+            }
+        }
+        Long userId = SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneByLogin).map(User::getId).orElse(null);
+        if (userId == null) {
+            return new KeysetSlice<>(List.of(), null);
+        }
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<Notification> notifications;
+        if (status == null) {
+            notifications = cursor == null
+                ? notificationRepository.findInboxByUserId(userId, limit)
+                : notificationRepository.findInboxByUserIdAfter(userId, createdAt, cursor.getId(), limit);
+        } else {
+            notifications = cursor == null
+                ? notificationRepository.findInboxByUserIdAndStatus(userId, status, limit)
+                : notificationRepository.findInboxByUserIdAndStatusAfter(userId, status, createdAt, cursor.getId(), limit);
+        }
+        KeysetCursor nextCursor = null;
+        if (notifications.size() > size) {
+            notifications = notifications.subList(0, size);
+            Notification last = notifications.get(size - 1);
+            nextCursor = new KeysetCursor(INBOX_PROPERTY, Sort.Direction.DESC, last.getId(), last.getCreatedAt().toString());
+        }
+        return new KeysetSlice<>(notifications, nextCursor).map(notificationMapper::toDto);
+    }
+
+    /**
+     * Count the unread notifications of the current user, from their counter.
+     *
+     * @return the number of unread notifications.
+     */
+    @Transactional(readOnly = true)
+    public long countUnreadOfCurrentUser() {
+        LOG.debug("Request to count the unread Notifications of the current user");
+        return SecurityUtils.getCurrentUserLogin()
+            .flatMap(userRepository::findOneWithAuthoritiesByLogin)
+            .map(user -> unreadNotificationCountService.getUnreadCount(user.getId()))
+            .orElse(0L);
+    }
+
+    /**
+     * Mark all the notifications of the current user as read, in one update.
+     * <p>
+     * Once the update is committed, only the notifications changed are evicted from the second-level cache. Their documents
+     * are updated through the search outbox, so they are also updated in an index being rebuilt.
+     *
+     * @return the number of notifications marked as read.
+     */
+    public int markAllReadOfCurrentUser() {
+        LOG.debug("Request to mark all the Notifications of the current user as read");
+        Long userId = SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneByLogin).map(User::getId).orElse(null);
+        if (userId == null) {
+            return 0;
+        }
+        List<Long> ids = notificationStatusRepository.updateStatusByUserId(userId, UnreadNotificationCountService.READ);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+                    ids.forEach(id -> cache.evictEntityData(Notification.class, id));
+                }
+            }
+        );
+        searchOutboxService.enqueueAll(Notification.class, ids);
+        collectionVersionService.increment(Notification.class);
+        unreadNotificationCountService.add(userId, -ids.size());
+        return ids.size();
+    }
+
     /**
      * Delete the notification by id.
      *
@@ -121,8 +345,16 @@ public class NotificationService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Notification : {}", id);
+        Notification before = notificationRepository.findById(id).map(NotificationService::snapshot).orElse(null);
         notificationRepository.deleteById(id);
-        notificationSearchRepository.deleteFromIndexById(id);
+        searchOutboxService.enqueue(Notification.class, id);
+        collectionVersionService.increment(Notification.class);
+        unreadNotificationCountService.addChange(before, null);
+    }
+
+    // The fields of a notification its unread count depends on, before they are changed
+    private static Notification snapshot(Notification notification) {
+        return new Notification().status(notification.getStatus()).user(notification.getUser());
     }
 
     /**
@@ -137,4 +369,23 @@ public class NotificationService {
         LOG.debug("Request to search for a page of Notifications for query {}", query);
         return notificationSearchRepository.search(query, pageable).map(notificationMapper::toDto);
     }
+
+    /**
+     * Search for the notifications corresponding to the query, by cursor.
+     * <p>
+     * The pages are read by {@code search_after} over a point in time of the index, so deep pages cost as much as the
+     * first one, and no total count is computed.
+     *
+     * @param query the query of the search.
+     * @param pageable the page size and, for the first page, the order of the notifications.
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @return the page of notifications found, with the cursor of the next page if there is one.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SearchSlice<NotificationDTO> search(String query, Pageable pageable, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Notifications for query {} after {}", query, cursor);
+        return SearchCursors.search(pageable, cursor, (sort, limit, pointInTimeId, searchAfter) ->
+            notificationSearchRepository.searchAfter(query, sort, limit, pointInTimeId, searchAfter)
+        ).map(notificationMapper::toDto);
+    }
 }
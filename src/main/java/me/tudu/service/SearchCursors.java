@@ -0,0 +1,55 @@
+package me.tudu.service;
+
+import java.util.List;
+import me.tudu.service.dto.SearchCursor;
+import me.tudu.service.dto.SearchSlice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+/**
+ * Deep pagination of the searches with {@code search_after} over a point in time, and its {@link SearchCursor}.
+ * <p>
+ * The first page is read in the order of the pageable, by relevance if unsorted, and the following pages in the order
+ * carried by the cursor, so a page size is the only thing the pageable still sets for them. One hit more than the page
+ * size is read, to know whether a next page follows.
+ */
+final class SearchCursors {
+
+    private SearchCursors() {}
+
+    /**
+     * A search for a page of hits by {@code search_after}, over the point in time of the previous page if any.
+     *
+     * @param <T> the entity type.
+     */
+    @FunctionalInterface
+    interface Search<T> {
+        SearchHits<T> search(Sort sort, int limit, String pointInTimeId, List<Object> searchAfter);
+    }
+
+    /**
+     * Read a page of a search.
+     *
+     * @param pageable the page size and, for the first page, the order of the hits.
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @param search the search of the entities.
+     * @param <T> the entity type.
+     * @return the page of entities, with the cursor of the next page if there is one.
+     */
+    static <T> SearchSlice<T> search(Pageable pageable, SearchCursor cursor, Search<T> search) {
+        Sort sort = cursor != null ? cursor.getSort() : pageable.getSort();
+        int size = pageable.getPageSize();
+        SearchHits<T> searchHits = cursor != null
+            ? search.search(sort, size + 1, cursor.getPointInTimeId(), cursor.getSearchAfter())
+            : search.search(sort, size + 1, null, null);
+        List<SearchHit<T>> hits = searchHits.getSearchHits();
+        SearchCursor nextCursor = null;
+        if (hits.size() > size) {
+            hits = hits.subList(0, size);
+            nextCursor = new SearchCursor(searchHits.getPointInTimeId(), sort, hits.get(size - 1).getSortValues());
+        }
+        return new SearchSlice<>(hits.stream().map(SearchHit::getContent).toList(), nextCursor);
+    }
+}
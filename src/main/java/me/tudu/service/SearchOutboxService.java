@@ -0,0 +1,251 @@
+package me.tudu.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import me.tudu.config.ApplicationProperties;
+import me.tudu.domain.Notification;
+import me.tudu.domain.Task;
+import me.tudu.domain.User;
+import me.tudu.domain.Workspace;
+import me.tudu.repository.NotificationRepository;
+import me.tudu.repository.SearchOutboxEntry;
+import me.tudu.repository.SearchOutboxRepository;
+import me.tudu.repository.TaskRepository;
+import me.tudu.repository.UserRepository;
+import me.tudu.repository.WorkspaceRepository;
+import me.tudu.repository.search.SearchBulkItem;
+import me.tudu.repository.search.SearchBulkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping the search index in sync with the database through a transactional outbox.
+ * <p>
+ * The writes of the tasks, workspaces, notifications and users add an entry to {@code search_outbox} in their own transaction, so
+ * an entry exists if and only if its write is committed. The entries are drained in order by a single instance at a time:
+ * the entries of a batch are coalesced by entity, the entities are read as committed, and their documents are indexed, or
+ * deleted if the entities are gone, in one {@code _bulk} request. A batch is removed from the outbox only once the request
+ * succeeded, so a failure is retried by the next run.
+ */
+@Service
+public class SearchOutboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchOutboxService.class);
+
+    public static final String LAG_METER_NAME = "search.outbox.lag";
+    public static final String ENTRIES_METER_NAME = "search.outbox.entries";
+    public static final String DOCUMENTS_METER_NAME = "search.outbox.documents";
+    public static final String BULK_METER_NAME = "search.outbox.bulk";
+
+    private final Map<String, Source<?>> sources = new LinkedHashMap<>();
+
+    private final SearchOutboxRepository searchOutboxRepository;
+
+    private final SearchBulkRepository searchBulkRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final Counter entriesCounter;
+
+    private final Timer bulkTimer;
+
+    public SearchOutboxService(
+        SearchOutboxRepository searchOutboxRepository,
+        SearchBulkRepository searchBulkRepository,
+        TaskRepository taskRepository,
+        WorkspaceRepository workspaceRepository,
+        NotificationRepository notificationRepository,
+        UserRepository userRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.searchOutboxRepository = searchOutboxRepository;
+        this.searchBulkRepository = searchBulkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+        addSource(
+            new Source<>("task", Task.class, ids -> taskRepository.fetchBagRelationships(taskRepository.findAllById(ids)), Task::getId)
+        );
+        addSource(
+            new Source<>(
+                "workspace",
+                Workspace.class,
+                ids -> workspaceRepository.fetchBagRelationships(workspaceRepository.findAllById(ids)),
+                Workspace::getId
+            )
+        );
+        addSource(new Source<>("notification", Notification.class, notificationRepository::findAllById, Notification::getId));
+        addSource(new Source<>("user", User.class, userRepository::findAllById, User::getId));
+
+        TimeGauge.builder(LAG_METER_NAME, lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Age of the oldest entry of the search outbox, as of the last drain.")
+            .register(meterRegistry);
+        this.entriesCounter = Counter.builder(ENTRIES_METER_NAME)
+            .baseUnit("entries")
+            .description("Number of search outbox entries drained.")
+            .register(meterRegistry);
+        this.bulkTimer = Timer.builder(BULK_METER_NAME)
+            .description("Duration of the bulk requests sending the search outbox to the index.")
+            .register(meterRegistry);
+    }
+
+    private void addSource(Source<?> source) {
+        sources.put(source.entityType(), source);
+    }
+
+    /**
+     * Queue the document of an entity written, to be indexed once the current transaction is committed.
+     *
+     * @param entityClass the class of the entity.
+     * @param id the id of the entity.
+     */
+    @Transactional
+    public void enqueue(Class<?> entityClass, Long id) {
+        enqueueAll(entityClass, List.of(id));
+    }
+
+    /**
+     * Queue the documents of entities written, to be indexed once the current transaction is committed.
+     *
+     * @param entityClass the class of the entities.
+     * @param ids the ids of the entities.
+     */
+    @Transactional
+    public void enqueueAll(Class<?> entityClass, Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            searchOutboxRepository.insert(entityType(entityClass), ids);
+        }
+    }
+
+    /**
+     * Drain the outbox, by batches of {@code application.search-outbox.batch-size} entries, each in its own transaction.
+     * <p>
+     * This is scheduled to get fired every {@code application.search-outbox.delay} after the end of the previous run.
+     */
+    @Scheduled(fixedDelayString = "${application.search-outbox.delay:PT1S}")
+    public void drainAll() {
+        if (!applicationProperties.getSearchOutbox().isEnabled()) {
+            return;
+        }
+        try {
+            int batchSize = applicationProperties.getSearchOutbox().getBatchSize();
+            while (drain() == batchSize) {
+                LOG.trace("Draining the next batch of the search outbox");
+            }
+        } catch (RuntimeException e) {
+            // The batch stays in the outbox, and is retried by the next run
+            LOG.warn("Could not drain the search outbox", e);
+        }
+    }
+
+    /**
+     * Drain one batch of the outbox, in the current transaction if there is one.
+     *
+     * @return the number of entries drained, {@code 0} if another instance is draining the outbox.
+     */
+    public int drain() {
+        Integer drained = transactionTemplate.execute(status -> {
+            if (!searchOutboxRepository.tryLock()) {
+                return 0;
+            }
+            List<SearchOutboxEntry> entries = searchOutboxRepository.findFirst(applicationProperties.getSearchOutbox().getBatchSize());
+            if (!entries.isEmpty()) {
+                send(entries);
+                searchOutboxRepository.deleteByIdIn(entries.stream().map(SearchOutboxEntry::id).toList());
+                entriesCounter.increment(entries.size());
+            }
+            lagMillis.set(
+                searchOutboxRepository
+                    .findOldestCreatedAt()
+                    .map(createdAt -> Duration.between(createdAt, Instant.now()).toMillis())
+                    .orElse(0L)
+            );
+            return entries.size();
+        });
+        return drained != null ? drained : 0;
+    }
+
+    private void send(List<SearchOutboxEntry> entries) {
+        Map<String, Set<Long>> idsByType = entries
+            .stream()
+            .collect(
+                Collectors.groupingBy(
+                    SearchOutboxEntry::entityType,
+                    LinkedHashMap::new,
+                    Collectors.mapping(SearchOutboxEntry::entityId, Collectors.toCollection(LinkedHashSet::new))
+                )
+            );
+        List<SearchBulkItem> items = new ArrayList<>();
+        idsByType.forEach((entityType, ids) -> {
+            Source<?> source = sources.get(entityType);
+            if (source == null) {
+                LOG.warn("Skipping {} search outbox entries of unknown type {}", ids.size(), entityType);
+                return;
+            }
+            List<SearchBulkItem> sourceItems = source.items(List.copyOf(ids));
+            long deleted = sourceItems.stream().filter(item -> item.entity() == null).count();
+            documentsCounter(entityType, "index").increment(sourceItems.size() - deleted);
+            documentsCounter(entityType, "delete").increment(deleted);
+            items.addAll(sourceItems);
+        });
+        bulkTimer.record(() -> searchBulkRepository.bulk(items));
+        LOG.debug("Drained {} search outbox entries into {} documents", entries.size(), items.size());
+    }
+
+    private Counter documentsCounter(String entityType, String operation) {
+        return Counter.builder(DOCUMENTS_METER_NAME)
+            .baseUnit("documents")
+            .description("Number of documents sent to the index from the search outbox.")
+            .tag("entity", entityType)
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    private String entityType(Class<?> entityClass) {
+        return sources
+            .values()
+            .stream()
+            .filter(source -> source.entityClass().equals(entityClass))
+            .map(Source::entityType)
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Not an entity of the search outbox: " + entityClass.getName()));
+    }
+
+    /**
+     * An indexed entity type, and how to read its entities as committed.
+     */
+    private record Source<T>(String entityType, Class<T> entityClass, Function<List<Long>, List<T>> loader, Function<T, Long> idGetter) {
+        List<SearchBulkItem> items(List<Long> ids) {
+            Map<Long, T> entities = loader.apply(ids).stream().collect(Collectors.toMap(idGetter, Function.identity()));
+            return ids.stream().map(id -> new SearchBulkItem(entityClass, id, entities.get(id))).toList();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package me.tudu.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import me.tudu.config.ApplicationProperties;
+import me.tudu.domain.Notification;
+import me.tudu.domain.Task;
+import me.tudu.domain.User;
+import me.tudu.domain.Workspace;
+import me.tudu.domain.enumeration.SearchReindexStatus;
+import me.tudu.repository.NotificationRepository;
+import me.tudu.repository.SearchReindexJob;
+import me.tudu.repository.SearchReindexRepository;
+import me.tudu.repository.TaskRepository;
+import me.tudu.repository.UserRepository;
+import me.tudu.repository.WorkspaceRepository;
+import me.tudu.repository.search.NotificationSearchRepository;
+import me.tudu.repository.search.SearchBulkItem;
+import me.tudu.repository.search.SearchBulkRepository;
+import me.tudu.repository.search.SearchIndexRepository;
+import me.tudu.service.dto.SearchReindexJobDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for the full reindex of the search indices, without downtime.
+ * <p>
+ * A reindex is run in the background, one entity after the other: a versioned index is created next to the current one,
+ * the entities are read from the database by keyset in chunks of {@code application.search-reindex.chunk-size}, and their
+ * documents are sent in bulk requests by {@code application.search-reindex.workers} threads. The alias of the entity is
+ * then swapped to the new index, atomically, and the previous index is deleted. The searches are served by the previous
+ * index until then, and the writes of the entity go to both, see {@link SearchIndexRepository}.
+ * <p>
+ * As the entities may be written between their read and their bulk request, the build creates only the documents that the
+ * writes have not indexed yet, and deletes again, before the swap, the documents that were deleted while it ran, see
+ * {@link SearchBulkRepository}. The expired notifications, deleted by dropping their partitions, are deleted again by their
+ * creation date.
+ */
+@Service
+public class SearchReindexService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchReindexService.class);
+
+    private final List<Source<?>> sources = new ArrayList<>();
+
+    private final SearchReindexRepository searchReindexRepository;
+
+    private final SearchIndexRepository searchIndexRepository;
+
+    private final SearchBulkRepository searchBulkRepository;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    public SearchReindexService(
+        SearchReindexRepository searchReindexRepository,
+        SearchIndexRepository searchIndexRepository,
+        SearchBulkRepository searchBulkRepository,
+        TaskRepository taskRepository,
+        WorkspaceRepository workspaceRepository,
+        NotificationRepository notificationRepository,
+        UserRepository userRepository,
+        NotificationSearchRepository notificationSearchRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.searchReindexRepository = searchReindexRepository;
+        this.searchIndexRepository = searchIndexRepository;
+        this.searchBulkRepository = searchBulkRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.applicationProperties = applicationProperties;
+        sources.add(new Source<>(Task.class, ids -> taskRepository.fetchBagRelationships(taskRepository.findAllById(ids)), Task::getId));
+        sources.add(
+            new Source<>(
+                Workspace.class,
+                ids -> workspaceRepository.fetchBagRelationships(workspaceRepository.findAllById(ids)),
+                Workspace::getId
+            )
+        );
+        sources.add(
+            new Source<>(Notification.class, notificationRepository::findAllById, Notification::getId, () ->
+                notificationRepository.findOldestCreatedAt().ifPresent(notificationSearchRepository::deleteFromIndexByCreatedAtBefore)
+            )
+        );
+        sources.add(new Source<>(User.class, userRepository::findAllById, User::getId));
+    }
+
+    /**
+     * Create a reindex job, unless another one is running. The reindex is started by {@link #run(String)}.
+     *
+     * @return the queued job, or empty if another reindex is queued or running.
+     */
+    public Optional<SearchReindexJobDTO> submit() {
+        Instant now = Instant.now();
+        SearchReindexJob job = new SearchReindexJob(UUID.randomUUID().toString(), SearchReindexStatus.QUEUED, 0, null, now, now, null);
+        LOG.debug("Request to reindex the search indices in job {}", job.id());
+        if (!searchReindexRepository.insertJobIfIdle(job, now.minus(applicationProperties.getSearchReindex().getStaleAfter()))) {
+            return Optional.empty();
+        }
+        return Optional.of(toDto(job));
+    }
+
+    /**
+     * Run a queued reindex in the background.
+     *
+     * @param jobId the id of the job.
+     */
+    @Async
+    public void run(String jobId) {
+        Progress progress = new Progress(searchReindexRepository.findJob(jobId).orElseThrow());
+        ExecutorService workers = Executors.newFixedThreadPool(
+            applicationProperties.getSearchReindex().getWorkers(),
+            new CustomizableThreadFactory("search-reindex-")
+        );
+        String building = null;
+        try {
+            progress.status = SearchReindexStatus.RUNNING;
+            updateJob(progress);
+            for (Source<?> source : sources) {
+                String alias = searchIndexRepository.getAliasName(source.entityClass());
+                building = alias + "_v" + progress.createdAt.toEpochMilli();
+                // The tombstones left by a failed reindex are dropped before the build alias is created again
+                searchReindexRepository.deleteTombstones(alias);
+                searchIndexRepository.createIndex(source.entityClass(), building);
+                build(source, building, workers, progress);
+                deleteTombstoned(source, alias, building);
+                source.purge().run();
+                searchIndexRepository.finishIndex(source.entityClass(), building);
+                List<String> previousIndices = searchIndexRepository.swapIndex(source.entityClass(), building);
+                LOG.info("Search index {} swapped in, replacing {}", building, previousIndices);
+                building = null;
+                searchReindexRepository.deleteTombstones(alias);
+            }
+            progress.status = SearchReindexStatus.COMPLETED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(progress, building, e);
+        } catch (RuntimeException e) {
+            fail(progress, building, e);
+        } finally {
+            workers.shutdownNow();
+            progress.finishedAt = Instant.now();
+            updateJob(progress);
+        }
+    }
+
+    /**
+     * Get a reindex job.
+     *
+     * @param id the id of the job.
+     * @return the job.
+     */
+    public Optional<SearchReindexJobDTO> findJob(String id) {
+        LOG.debug("Request to get SearchReindexJob : {}", id);
+        return searchReindexRepository.findJob(id).map(this::toDto);
+    }
+
+    /**
+     * Read the entities of a source by chunks, and send them to an index by the workers, with at most two bulk requests in
+     * flight per worker.
+     */
+    private void build(Source<?> source, String indexName, ExecutorService workers, Progress progress) throws InterruptedException {
+        int chunkSize = applicationProperties.getSearchReindex().getChunkSize();
+        int maxInFlight = 2 * applicationProperties.getSearchReindex().getWorkers();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        long afterId = Long.MIN_VALUE;
+        List<Long> ids;
+        do {
+            ids = searchReindexRepository.findIdsAfter(source.entityClass(), afterId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> chunkIds = ids;
+            // The entities are mapped in their transaction, as their lazy relationships are part of their documents
+            List<SearchBulkItem> items = readOnlyTransactionTemplate.execute(status -> searchBulkRepository.mapAll(source.items(chunkIds)));
+            inFlight.acquire();
+            workers.execute(() -> {
+                try {
+                    searchBulkRepository.bulkCreate(indexName, items);
+                    progress.documentsIndexed.addAndGet(items.size());
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+            afterId = ids.get(ids.size() - 1);
+            updateJob(progress);
+        } while (ids.size() == chunkSize && failure.get() == null);
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Delete from a built index the documents deleted while it was built, as the build may have read their entities before.
+     * The deletes sent from now on reach the index after the last bulk request of the build.
+     */
+    private void deleteTombstoned(Source<?> source, String alias, String indexName) {
+        List<Long> ids = searchReindexRepository.findTombstones(alias);
+        int chunkSize = applicationProperties.getSearchReindex().getChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            searchBulkRepository.bulkCreate(
+                indexName,
+                ids
+                    .subList(from, Math.min(from + chunkSize, ids.size()))
+                    .stream()
+                    .map(id -> new SearchBulkItem(source.entityClass(), id, null))
+                    .toList()
+            );
+        }
+        LOG.debug("Deleted {} documents tombstoned while building search index {}", ids.size(), indexName);
+    }
+
+    private void fail(Progress progress, String building, Exception e) {
+        LOG.error("Search reindex {} failed", progress.id, e);
+        progress.status = SearchReindexStatus.FAILED;
+        progress.error = "reindex failed: " + e.getMessage();
+        if (building != null) {
+            try {
+                searchIndexRepository.deleteIndex(building);
+            } catch (RuntimeException deleteException) {
+                LOG.warn("Could not delete the search index {} of failed reindex {}", building, progress.id, deleteException);
+            }
+        }
+    }
+
+    private void updateJob(Progress progress) {
+        progress.updatedAt = Instant.now();
+        searchReindexRepository.updateJob(progress.toJob());
+    }
+
+    private SearchReindexJobDTO toDto(SearchReindexJob job) {
+        SearchReindexJobDTO searchReindexJobDTO = new SearchReindexJobDTO();
+        searchReindexJobDTO.setId(job.id());
+        searchReindexJobDTO.setStatus(job.status());
+        searchReindexJobDTO.setDocumentsIndexed(job.documentsIndexed());
+        searchReindexJobDTO.setError(job.error());
+        searchReindexJobDTO.setCreatedAt(job.createdAt());
+        searchReindexJobDTO.setUpdatedAt(job.updatedAt());
+        searchReindexJobDTO.setFinishedAt(job.finishedAt());
+        return searchReindexJobDTO;
+    }
+
+    /**
+     * The mutable state of a running reindex.
+     */
+    private static final class Progress {
+
+        private final String id;
+
+        private final Instant createdAt;
+
+        private final AtomicLong documentsIndexed = new AtomicLong();
+
+        private SearchReindexStatus status;
+
+        private String error;
+
+        private Instant updatedAt;
+
+        private Instant finishedAt;
+
+        private Progress(SearchReindexJob job) {
+            this.id = job.id();
+            this.createdAt = job.createdAt();
+            this.status = job.status();
+            this.updatedAt = job.updatedAt();
+        }
+
+        private SearchReindexJob toJob() {
+            return new SearchReindexJob(id, status, documentsIndexed.get(), error, createdAt, updatedAt, finishedAt);
+        }
+    }
+
+    /**
+     * An indexed entity type, how to read its entities, and how to delete from its built index the documents of the
+     * entities deleted by query while it was built.
+     */
+    private record Source<T>(Class<T> entityClass, Function<List<Long>, List<T>> loader, Function<T, Long> idGetter, Runnable purge) {
+        Source(Class<T> entityClass, Function<List<Long>, List<T>> loader, Function<T, Long> idGetter) {
+            this(entityClass, loader, idGetter, () -> {});
+        }
+
+        List<SearchBulkItem> items(List<Long> ids) {
+            return loader.apply(ids).stream().map(entity -> new SearchBulkItem(entityClass, idGetter.apply(entity), entity)).toList();
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package me.tudu.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import me.tudu.domain.Task;
+import me.tudu.domain.enumeration.Priority;
+import me.tudu.domain.enumeration.Privilege;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.domain.enumeration.TaskImportStatus;
+import me.tudu.repository.TaskImportJob;
+import me.tudu.repository.TaskImportRepository;
+import me.tudu.service.dto.TaskDTO;
+import me.tudu.service.dto.TaskImportJobDTO;
+import me.tudu.service.dto.UserDTO;
+import me.tudu.service.dto.WorkspaceDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for the bulk import of tasks.
+ * <p>
+ * An import is spooled to a file, then run in the background: its rows are parsed and validated in chunks of
+ * {@link #CHUNK_SIZE}, copied into {@code task_import_staging} with the PostgreSQL {@code COPY} protocol, merged into
+ * {@code task} and {@code rel_task__user} in one transaction, and finally indexed in bulk. Rows are read in the format of
+ * the task export, and always create new tasks.
+ */
+@Service
+public class TaskImportService {
+
+    public static final String FORMAT_CSV = "csv";
+
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final int CHUNK_SIZE = 5_000;
+
+    private static final int INDEX_CHUNK_SIZE = 500;
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_FIELD_LENGTH = 255;
+
+    private final TaskImportRepository taskImportRepository;
+
+    private final TaskService taskService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final CollectionVersionService collectionVersionService;
+
+    private final WorkspaceService workspaceService;
+
+    public TaskImportService(
+        TaskImportRepository taskImportRepository,
+        TaskService taskService,
+        ObjectMapper objectMapper,
+        Validator validator,
+        CollectionVersionService collectionVersionService,
+        WorkspaceService workspaceService
+    ) {
+        this.taskImportRepository = taskImportRepository;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.collectionVersionService = collectionVersionService;
+        this.workspaceService = workspaceService;
+    }
+
+    /**
+     * Spool an import and create its job. The import is started by {@link #run(String)}.
+     *
+     * @param format the format of the content, {@link #FORMAT_CSV} or {@link #FORMAT_NDJSON}.
+     * @param content the tasks to import.
+     * @return the queued job.
+     * @throws IOException if the content cannot be spooled.
+     */
+    public TaskImportJobDTO submit(String format, InputStream content) throws IOException {
+        if (!FORMAT_CSV.equals(format) && !FORMAT_NDJSON.equals(format)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+        String id = UUID.randomUUID().toString();
+        LOG.debug("Request to import Tasks as {} in job {}", format, id);
+        Files.copy(content, spoolFile(id));
+        TaskImportJob job = new TaskImportJob(id, format, TaskImportStatus.QUEUED, 0, 0, 0, 0, null, Instant.now(), null);
+        taskImportRepository.insertJob(job);
+        return toDto(job);
+    }
+
+    /**
+     * Run a queued import in the background.
+     *
+     * @param jobId the id of the job.
+     */
+    @Async
+    public void run(String jobId) {
+        Progress progress = new Progress(taskImportRepository.findJob(jobId).orElseThrow());
+        Path file = spoolFile(jobId);
+        try {
+            progress.status = TaskImportStatus.RUNNING;
+            taskImportRepository.updateJob(progress.toJob());
+            long lastLine = stage(progress, file);
+            taskImportRepository.deleteUnknownReferences(jobId).forEach(line -> progress.reject(line, "unknown workspace or user"));
+            progress.rowsImported = taskImportRepository.merge(jobId);
+            collectionVersionService.increment(Task.class);
+            workspaceService.evictSummaries();
+            taskImportRepository.updateJob(progress.toJob());
+            for (long fromLine = 1; fromLine <= lastLine; fromLine += INDEX_CHUNK_SIZE) {
+                List<Long> ids = taskImportRepository.findTaskIds(jobId, fromLine, fromLine + INDEX_CHUNK_SIZE);
+                if (!ids.isEmpty()) {
+                    progress.rowsIndexed += taskService.reindex(ids);
+                    taskImportRepository.updateJob(progress.toJob());
+                }
+            }
+            progress.status = TaskImportStatus.COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Task import {} failed", jobId, e);
+            progress.status = TaskImportStatus.FAILED;
+            progress.error("import failed: " + e.getMessage());
+        } finally {
+            taskImportRepository.deleteStaging(jobId);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warn("Could not delete the spool file of task import {}", jobId, e);
+            }
+            progress.finishedAt = Instant.now();
+            taskImportRepository.updateJob(progress.toJob());
+        }
+    }
+
+    /**
+     * Get an import job.
+     *
+     * @param id the id of the job.
+     * @return the job.
+     */
+    public Optional<TaskImportJobDTO> findJob(String id) {
+        LOG.debug("Request to get TaskImportJob : {}", id);
+        return taskImportRepository.findJob(id).map(this::toDto);
+    }
+
+    /**
+     * Parse, validate and copy the rows of an import into the staging table.
+     *
+     * @return the number of the last line read.
+     */
+    private long stage(Progress progress, Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            TaskRowReader rows = FORMAT_CSV.equals(progress.format) ? new CsvTaskRowReader(reader) : new NdjsonTaskRowReader(reader);
+            StringBuilder chunk = new StringBuilder();
+            long lastLine = 0;
+            TaskRow row;
+            while ((row = rows.next()) != null) {
+                progress.rowsRead++;
+                lastLine = row.lineNumber();
+                String error = row.error() != null ? row.error() : validate(row.task());
+                if (error != null) {
+                    progress.reject(row.lineNumber(), error);
+                } else {
+                    appendStagingRow(chunk, progress.id, row.lineNumber(), row.task());
+                }
+                if (progress.rowsRead % CHUNK_SIZE == 0) {
+                    copyToStaging(chunk, progress);
+                }
+            }
+            copyToStaging(chunk, progress);
+            return lastLine;
+        }
+    }
+
+    private void copyToStaging(StringBuilder chunk, Progress progress) {
+        if (!chunk.isEmpty()) {
+            taskImportRepository.copyToStaging(new StringReader(chunk.toString()));
+            chunk.setLength(0);
+        }
+        taskImportRepository.updateJob(progress.toJob());
+    }
+
+    private String validate(TaskDTO taskDTO) {
+        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(taskDTO);
+        if (!violations.isEmpty()) {
+            return violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        }
+        Map<String, String> texts = new HashMap<>();
+        texts.put("title", taskDTO.getTitle());
+        texts.put("description", taskDTO.getDescription());
+        texts.put("category", taskDTO.getCategory());
+        for (Map.Entry<String, String> text : texts.entrySet()) {
+            if (text.getValue() != null && text.getValue().length() > MAX_FIELD_LENGTH) {
+                return text.getKey() + " size must be at most " + MAX_FIELD_LENGTH;
+            }
+        }
+        if (taskDTO.getUsers() != null && taskDTO.getUsers().stream().anyMatch(user -> user == null || user.getId() == null)) {
+            return "users must have an id";
+        }
+        return null;
+    }
+
+    private static void appendStagingRow(StringBuilder csv, String jobId, long lineNumber, TaskDTO taskDTO) {
+        Object[] values = {
+            jobId,
+            lineNumber,
+            taskDTO.getTitle(),
+            taskDTO.getDescription(),
+            taskDTO.getDueDate(),
+            taskDTO.getPriority(),
+            taskDTO.getStatus(),
+            taskDTO.getCategory(),
+            taskDTO.getCreatedAt(),
+            taskDTO.getUpdatedAt(),
+            taskDTO.getPrivilege(),
+            taskDTO.getWorkspace() != null ? taskDTO.getWorkspace().getId() : null,
+            taskDTO.getUsers() != null
+                ? taskDTO.getUsers().stream().map(user -> user.getId().toString()).collect(Collectors.joining(",", "{", "}"))
+                : null
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            // COPY reads an unquoted empty field as null, and a quoted one as a string
+            if (values[i] != null) {
+                csv.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        csv.append('\n');
+    }
+
+    private static Path spoolFile(String jobId) {
+        return Path.of(System.getProperty("java.io.tmpdir"), "task-import-" + jobId);
+    }
+
+    private TaskImportJobDTO toDto(TaskImportJob job) {
+        TaskImportJobDTO taskImportJobDTO = new TaskImportJobDTO();
+        taskImportJobDTO.setId(job.id());
+        taskImportJobDTO.setFormat(job.format());
+        taskImportJobDTO.setStatus(job.status());
+        taskImportJobDTO.setRowsRead(job.rowsRead());
+        taskImportJobDTO.setRowsRejected(job.rowsRejected());
+        taskImportJobDTO.setRowsImported(job.rowsImported());
+        taskImportJobDTO.setRowsIndexed(job.rowsIndexed());
+        taskImportJobDTO.setErrors(job.errors() != null ? Arrays.asList(job.errors().split("\n")) : new ArrayList<>());
+        taskImportJobDTO.setCreatedAt(job.createdAt());
+        taskImportJobDTO.setFinishedAt(job.finishedAt());
+        return taskImportJobDTO;
+    }
+
+    /**
+     * The mutable state of a running import.
+     */
+    private static final class Progress {
+
+        private final String id;
+
+        private final String format;
+
+        private final Instant createdAt;
+
+        private final List<String> errors = new ArrayList<>();
+
+        private TaskImportStatus status;
+
+        private long rowsRead;
+
+        private long rowsRejected;
+
+        private long rowsImported;
+
+        private long rowsIndexed;
+
+        private Instant finishedAt;
+
+        private Progress(TaskImportJob job) {
+            this.id = job.id();
+            this.format = job.format();
+            this.createdAt = job.createdAt();
+            this.status = job.status();
+        }
+
+        private void reject(long lineNumber, String message) {
+            rowsRejected++;
+            error("line " + lineNumber + ": " + message);
+        }
+
+        private void error(String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(message.replace('\n', ' '));
+            }
+        }
+
+        private TaskImportJob toJob() {
+            String joinedErrors = errors.isEmpty() ? null : String.join("\n", errors);
+            return new TaskImportJob(
+                id,
+                format,
+                status,
+                rowsRead,
+                rowsRejected,
+                rowsImported,
+                rowsIndexed,
+                joinedErrors,
+                createdAt,
+                finishedAt
+            );
+        }
+    }
+
+    /**
+     * A row of an import: the task it describes, or the reason it could not be read.
+     */
+    private record TaskRow(long lineNumber, TaskDTO task, String error) {}
+
+    private interface TaskRowReader {
+        /**
+         * @return the next row, or {@code null} at the end of the import.
+         */
+        TaskRow next() throws IOException;
+    }
+
+    /**
+     * Reads one task per line, as written by the NDJSON export.
+     */
+    private final class NdjsonTaskRowReader implements TaskRowReader {
+
+        private final BufferedReader reader;
+
+        private long lineNumber;
+
+        private NdjsonTaskRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public TaskRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            try {
+                TaskDTO taskDTO = objectMapper.readValue(line, TaskDTO.class);
+                return new TaskRow(lineNumber, taskDTO, null);
+            } catch (JsonProcessingException e) {
+                return new TaskRow(lineNumber, null, e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads tasks from CSV records, with the header and columns written by the CSV export.
+     */
+    private static final class CsvTaskRowReader implements TaskRowReader {
+
+        private final CsvRecordReader records;
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvTaskRowReader(BufferedReader reader) throws IOException {
+            this.records = new CsvRecordReader(reader);
+            List<String> header = records.next();
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+        }
+
+        @Override
+        public TaskRow next() throws IOException {
+            List<String> fields = records.next();
+            if (fields == null) {
+                return null;
+            }
+            try {
+                TaskDTO taskDTO = new TaskDTO();
+                taskDTO.setTitle(field(fields, "title"));
+                taskDTO.setDescription(field(fields, "description"));
+                taskDTO.setDueDate(instant(field(fields, "dueDate")));
+                taskDTO.setPriority(field(fields, "priority") != null ? Priority.valueOf(field(fields, "priority")) : null);
+                taskDTO.setStatus(field(fields, "status") != null ? Status.valueOf(field(fields, "status")) : null);
+                taskDTO.setCategory(field(fields, "category"));
+                taskDTO.setCreatedAt(instant(field(fields, "createdAt")));
+                taskDTO.setUpdatedAt(instant(field(fields, "updatedAt")));
+                taskDTO.setPrivilege(field(fields, "privilege") != null ? Privilege.valueOf(field(fields, "privilege")) : null);
+                String workspaceId = field(fields, "workspaceId");
+                if (workspaceId != null) {
+                    WorkspaceDTO workspaceDTO = new WorkspaceDTO();
+                    workspaceDTO.setId(Long.valueOf(workspaceId));
+                    taskDTO.setWorkspace(workspaceDTO);
+                }
+                String userIds = field(fields, "userIds");
+                if (userIds != null) {
+                    for (String userId : userIds.trim().split("\\s+")) {
+                        UserDTO userDTO = new UserDTO();
+                        userDTO.setId(Long.valueOf(userId));
+                        taskDTO.getUsers().add(userDTO);
+                    }
+                }
+                return new TaskRow(records.getRecordLineNumber(), taskDTO, null);
+            } catch (RuntimeException e) {
+                return new TaskRow(records.getRecordLineNumber(), null, e.getMessage());
+            }
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+
+        private static Instant instant(String value) {
+            return value != null ? Instant.parse(value) : null;
+        }
+    }
+
+    /**
+     * Reads RFC 4180 records, whose quoted fields may span several lines.
+     */
+    private static final class CsvRecordReader {
+
+        private final BufferedReader reader;
+
+        private long lineNumber;
+
+        private long recordLineNumber;
+
+        private CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        private long getRecordLineNumber() {
+            return recordLineNumber;
+        }
+
+        private List<String> next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.isEmpty());
+            if (line == null) {
+                return null;
+            }
+            recordLineNumber = lineNumber;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (quoted && c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = !quoted;
+                    } else if (c == ',' && !quoted) {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted || (line = reader.readLine()) == null) {
+                    break;
+                }
+                lineNumber++;
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
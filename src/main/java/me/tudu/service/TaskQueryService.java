@@ -0,0 +1,120 @@
+package me.tudu.service;
+
+import jakarta.persistence.criteria.JoinType;
+import me.tudu.domain.*; // for static metamodels
+import me.tudu.domain.Task;
+import me.tudu.repository.TaskRepository;
+import me.tudu.service.criteria.TaskCriteria;
+import me.tudu.service.dto.KeysetCursor;
+import me.tudu.service.dto.KeysetSlice;
+import me.tudu.service.dto.TaskDTO;
+import me.tudu.service.mapper.TaskMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Task} entities in the database.
+ * The main input is a {@link TaskCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} of {@link TaskDTO} which fulfills the criteria.
+ * <p>
+ * The most common filters are backed by the composite indexes of {@code 20261017090100_added_indexes_Task.xml}: filter on
+ * the workspace first, then on the status or priority, so a filtered listing only reads the matching rows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskQueryService extends QueryService<Task> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskQueryService.class);
+
+    private final TaskRepository taskRepository;
+
+    private final TaskMapper taskMapper;
+
+    private final TaskService taskService;
+
+    public TaskQueryService(TaskRepository taskRepository, TaskMapper taskMapper, TaskService taskService) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.taskService = taskService;
+    }
+
+    /**
+     * Return a {@link Page} of {@link TaskDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> findByCriteria(TaskCriteria criteria, Pageable page) {
+        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Task> specification = createSpecification(criteria);
+        return taskRepository.fetchBagRelationships(taskRepository.findAll(specification, page)).map(taskMapper::toDto);
+    }
+
+    /**
+     * Return a keyset page of {@link TaskDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page size and, for the first page, the sort order.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param eagerload flag to eager load the many-to-many relationships.
+     * @return the matching entities, with the cursor of the next page if there is one.
+     * @throws IllegalArgumentException if the sort property cannot be used for keyset pagination, or the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<TaskDTO> findByCriteria(TaskCriteria criteria, Pageable page, KeysetCursor cursor, boolean eagerload) {
+        LOG.debug("find by criteria : {}, cursor: {}", criteria, cursor);
+        return taskService.findAllByKeyset(page, cursor, eagerload, createSpecification(criteria));
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(TaskCriteria criteria) {
+        LOG.debug("count by criteria : {}", criteria);
+        final Specification<Task> specification = createSpecification(criteria);
+        return taskRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link TaskCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Task> createSpecification(TaskCriteria criteria) {
+        Specification<Task> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            specification = Specification.allOf(
+                Boolean.TRUE.equals(criteria.getDistinct()) ? distinct(criteria.getDistinct()) : null,
+                criteria.getId() != null ? buildRangeSpecification(criteria.getId(), Task_.id) : null,
+                criteria.getTitle() != null ? buildStringSpecification(criteria.getTitle(), Task_.title) : null,
+                criteria.getDescription() != null ? buildStringSpecification(criteria.getDescription(), Task_.description) : null,
+                criteria.getDueDate() != null ? buildRangeSpecification(criteria.getDueDate(), Task_.dueDate) : null,
+                criteria.getPriority() != null ? buildSpecification(criteria.getPriority(), Task_.priority) : null,
+                criteria.getStatus() != null ? buildSpecification(criteria.getStatus(), Task_.status) : null,
+                criteria.getCategory() != null ? buildStringSpecification(criteria.getCategory(), Task_.category) : null,
+                criteria.getCreatedAt() != null ? buildRangeSpecification(criteria.getCreatedAt(), Task_.createdAt) : null,
+                criteria.getUpdatedAt() != null ? buildRangeSpecification(criteria.getUpdatedAt(), Task_.updatedAt) : null,
+                criteria.getPrivilege() != null ? buildSpecification(criteria.getPrivilege(), Task_.privilege) : null,
+                // Compared on the foreign key column, without joining the workspace
+                criteria.getWorkspaceId() != null
+                    ? buildSpecification(criteria.getWorkspaceId(), root -> root.get(Task_.workspace).get(Workspace_.id))
+                    : null,
+                criteria.getUserId() != null
+                    ? buildSpecification(criteria.getUserId(), root -> root.join(Task_.users, JoinType.LEFT).get(User_.id))
+                    : null
+            );
+        }
+        return specification;
+    }
+}
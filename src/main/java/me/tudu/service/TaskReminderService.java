@@ -0,0 +1,140 @@
+package me.tudu.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import me.tudu.config.ApplicationProperties;
+import me.tudu.domain.Notification;
+import me.tudu.domain.User;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.repository.TaskReminder;
+import me.tudu.repository.TaskReminderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service sending the due-date reminders of the tasks, as notifications of their assigned users.
+ * <p>
+ * For each configured lead time, a run reminds of the tasks that became due within the lead time since the previous run:
+ * the due date up to which reminders were sent is kept as a high-water mark, so each run reads only the new range of due
+ * dates through the index on {@code task(due_date)}. A task created or rescheduled into a range already covered is not
+ * reminded for that lead time.
+ * <p>
+ * The high-water marks are locked for the duration of a run, so concurrent runs on several instances never send the same
+ * reminder twice.
+ */
+@Service
+@Transactional
+public class TaskReminderService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskReminderService.class);
+
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
+    private final TaskReminderRepository taskReminderRepository;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final CollectionVersionService collectionVersionService;
+
+    private final UnreadNotificationCountService unreadNotificationCountService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public TaskReminderService(
+        TaskReminderRepository taskReminderRepository,
+        SearchOutboxService searchOutboxService,
+        CollectionVersionService collectionVersionService,
+        UnreadNotificationCountService unreadNotificationCountService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.taskReminderRepository = taskReminderRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.collectionVersionService = collectionVersionService;
+        this.unreadNotificationCountService = unreadNotificationCountService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Send the reminders of the tasks due soon.
+     * <p>
+     * This is scheduled to get fired every {@code application.reminder.delay} after the end of the previous run.
+     */
+    @Scheduled(fixedDelayString = "${application.reminder.delay:PT1M}")
+    public void sendDueReminders() {
+        if (applicationProperties.getReminder().isEnabled()) {
+            sendDueReminders(Instant.now());
+        }
+    }
+
+    /**
+     * Send the reminders of the tasks due within each lead time of a point in time.
+     *
+     * @param now the point in time the lead times start from.
+     * @return the number of notifications created.
+     */
+    public long sendDueReminders(Instant now) {
+        long sent = 0;
+        for (Duration leadTime : applicationProperties.getReminder().getLeadTimes()) {
+            Instant dueUntil = now.plus(leadTime);
+            Instant dueAfter = taskReminderRepository.lockMark(leadTime, now);
+            if (dueUntil.isAfter(dueAfter)) {
+                sent += sendDueReminders(leadTime, dueAfter, dueUntil, now);
+                taskReminderRepository.updateMark(leadTime, dueUntil);
+            }
+        }
+        if (sent > 0) {
+            collectionVersionService.increment(Notification.class);
+        }
+        return sent;
+    }
+
+    private long sendDueReminders(Duration leadTime, Instant dueAfter, Instant dueUntil, Instant now) {
+        int batchSize = applicationProperties.getReminder().getBatchSize();
+        List<TaskReminder> batch = new ArrayList<>(batchSize);
+        long[] sent = { 0 };
+        taskReminderRepository.findDueAssignments(dueAfter, dueUntil, batchSize, reminder -> {
+            batch.add(reminder);
+            if (batch.size() == batchSize) {
+                sent[0] += insertNotifications(batch, now);
+                batch.clear();
+            }
+        });
+        sent[0] += insertNotifications(batch, now);
+        LOG.debug("Sent {} reminders of the tasks due in {} until {}", sent[0], leadTime, dueUntil);
+        return sent[0];
+    }
+
+    private int insertNotifications(List<TaskReminder> reminders, Instant now) {
+        if (reminders.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = taskReminderRepository.allocateIds(reminders.size());
+        List<Notification> notifications = new ArrayList<>(reminders.size());
+        Map<Long, Long> unreadCounts = new HashMap<>();
+        for (int i = 0; i < reminders.size(); i++) {
+            TaskReminder reminder = reminders.get(i);
+            User user = new User();
+            user.setId(reminder.userId());
+            notifications.add(
+                new Notification().id(ids.get(i)).message(message(reminder)).status(Status.PENDING).createdAt(now).user(user)
+            );
+            unreadCounts.merge(reminder.userId(), 1L, Long::sum);
+        }
+        taskReminderRepository.insertNotifications(notifications);
+        searchOutboxService.enqueueAll(Notification.class, ids);
+        unreadNotificationCountService.addAll(unreadCounts);
+        return notifications.size();
+    }
+
+    private static String message(TaskReminder reminder) {
+        String message = "Task \"" + reminder.title() + "\" is due at " + reminder.dueDate();
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH - 3) + "..." : message;
+    }
+}
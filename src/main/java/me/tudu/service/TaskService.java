@@ -1,16 +1,52 @@
 package me.tudu.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import me.tudu.domain.Task;
+import me.tudu.domain.User;
+import me.tudu.domain.Workspace;
 import me.tudu.repository.TaskRepository;
+import me.tudu.repository.TaskSummary;
+import me.tudu.repository.search.SearchBulkItem;
+import me.tudu.repository.search.SearchBulkRepository;
 import me.tudu.repository.search.TaskSearchRepository;
+import me.tudu.security.SecurityUtils;
+import me.tudu.service.KeysetSpecifications.SortKey;
+import me.tudu.service.dto.BulkItemResultDTO;
+import me.tudu.service.dto.KeysetCursor;
+import me.tudu.service.dto.KeysetSlice;
+import me.tudu.service.dto.SearchCursor;
+import me.tudu.service.dto.SearchSlice;
 import me.tudu.service.dto.TaskDTO;
+import me.tudu.service.dto.TaskMoveDTO;
+import me.tudu.service.dto.TaskSearchHitDTO;
+import me.tudu.service.dto.TaskSuggestionDTO;
+import me.tudu.service.dto.UserDTO;
+import me.tudu.service.dto.WorkspaceDTO;
 import me.tudu.service.mapper.TaskMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -22,16 +58,89 @@ public class TaskService {
 
     private static final Logger LOG = LoggerFactory.getLogger(TaskService.class);
 
+    /**
+     * The maximum number of tasks suggested at once.
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    /**
+     * The fields of the tasks returned by a search by default, when none are requested.
+     */
+    public static final List<String> DEFAULT_SEARCH_FIELDS = List.of("title", "status", "priority", "dueDate");
+
+    // The fields a search may return, with their path in the documents; the users of the tasks are never returned
+    private static final Map<String, String> SEARCH_SOURCE_FIELDS = Map.ofEntries(
+        Map.entry("title", "title"),
+        Map.entry("description", "description"),
+        Map.entry("dueDate", "dueDate"),
+        Map.entry("priority", "priority"),
+        Map.entry("status", "status"),
+        Map.entry("category", "category"),
+        Map.entry("createdAt", "createdAt"),
+        Map.entry("updatedAt", "updatedAt"),
+        Map.entry("privilege", "privilege"),
+        Map.entry("workspaceId", "workspace.id")
+    );
+
+    /**
+     * Number of tasks flushed, cleared from the persistence context and queued for indexing together by the bulk
+     * operations, and read with their users together by the export.
+     */
+    private static final int BULK_CHUNK_SIZE = 500;
+
+    private static final Sort.Order DEFAULT_KEYSET_ORDER = Sort.Order.asc("id");
+
+    private static final Map<String, SortKey<Task>> KEYSET_SORT_KEYS = Map.of(
+        "id",
+        SortKey.of(Long.class, Task::getId),
+        "title",
+        SortKey.of(String.class, Task::getTitle),
+        "dueDate",
+        SortKey.of(Instant.class, Task::getDueDate),
+        "createdAt",
+        SortKey.of(Instant.class, Task::getCreatedAt),
+        "updatedAt",
+        SortKey.of(Instant.class, Task::getUpdatedAt)
+    );
+
     private final TaskRepository taskRepository;
 
     private final TaskMapper taskMapper;
 
     private final TaskSearchRepository taskSearchRepository;
 
-    public TaskService(TaskRepository taskRepository, TaskMapper taskMapper, TaskSearchRepository taskSearchRepository) {
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final CollectionVersionService collectionVersionService;
+
+    private final WorkspaceService workspaceService;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final SearchBulkRepository searchBulkRepository;
+
+    public TaskService(
+        TaskRepository taskRepository,
+        TaskMapper taskMapper,
+        TaskSearchRepository taskSearchRepository,
+        EntityManager entityManager,
+        Validator validator,
+        CollectionVersionService collectionVersionService,
+        WorkspaceService workspaceService,
+        SearchOutboxService searchOutboxService,
+        SearchBulkRepository searchBulkRepository
+    ) {
         this.taskRepository = taskRepository;
         this.taskMapper = taskMapper;
         this.taskSearchRepository = taskSearchRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.collectionVersionService = collectionVersionService;
+        this.workspaceService = workspaceService;
+        this.searchOutboxService = searchOutboxService;
+        this.searchBulkRepository = searchBulkRepository;
     }
 
     /**
@@ -44,50 +153,303 @@ public class TaskService {
         LOG.debug("Request to save Task : {}", taskDTO);
         Task task = taskMapper.toEntity(taskDTO);
         task = taskRepository.save(task);
-        taskSearchRepository.index(task);
+        searchOutboxService.enqueue(Task.class, task.getId());
+        collectionVersionService.increment(Task.class);
+        evictWorkspaceSummary(task);
         return taskMapper.toDto(task);
     }
 
     /**
      * Update a task.
+     * <p>
+     * The task is read once, checked against the expected version, and written back with its version incremented, so a
+     * concurrent update is detected instead of silently overwritten.
      *
      * @param taskDTO the entity to save.
-     * @return the persisted entity.
+     * @param expectedVersion the version the caller last read, or {@code null} to use the version of {@code taskDTO}, if any.
+     * @return the persisted entity, or empty if the task does not exist.
+     * @throws ObjectOptimisticLockingFailureException if the task is not at the expected version.
      */
-    public TaskDTO update(TaskDTO taskDTO) {
+    public Optional<TaskDTO> update(TaskDTO taskDTO, Long expectedVersion) {
         LOG.debug("Request to update Task : {}", taskDTO);
-        Task task = taskMapper.toEntity(taskDTO);
-        task = taskRepository.save(task);
-        taskSearchRepository.index(task);
-        return taskMapper.toDto(task);
+        return taskRepository
+            .findById(taskDTO.getId())
+            .map(existingTask -> {
+                checkVersion(existingTask, expectedVersion != null ? expectedVersion : taskDTO.getVersion());
+                evictWorkspaceSummary(existingTask);
+                Task task = taskMapper.toEntity(taskDTO);
+                task.setVersion(existingTask.getVersion());
+                // Merged onto the instance read above: no second select, and flushed so the new version is returned
+                return taskRepository.saveAndFlush(task);
+            })
+            .map(savedTask -> {
+                searchOutboxService.enqueue(Task.class, savedTask.getId());
+                collectionVersionService.increment(Task.class);
+                evictWorkspaceSummary(savedTask);
+                return savedTask;
+            })
+            .map(taskMapper::toDto);
+    }
+
+    /**
+     * Create tasks in bulk.
+     * <p>
+     * Tasks are inserted in JDBC batches and queued for indexing with one statement per chunk. Tasks that are not valid, that
+     * already have an ID, or that reference a workspace or user that does not exist, are skipped and reported in their result.
+     *
+     * @param taskDTOs the entities to create.
+     * @return the result of each entity, in the order of {@code taskDTOs}.
+     */
+    public List<BulkItemResultDTO> saveAll(List<TaskDTO> taskDTOs) {
+        LOG.debug("Request to save {} Tasks in bulk", taskDTOs.size());
+        return bulkWrite(taskDTOs, false);
+    }
+
+    /**
+     * Update tasks in bulk.
+     * <p>
+     * Tasks are updated in JDBC batches and queued for indexing with one statement per chunk. Tasks that are not valid,
+     * that have no ID, that do not exist, or that reference a workspace or user that does not exist, are skipped and reported
+     * in their result.
+     *
+     * @param taskDTOs the entities to update.
+     * @return the result of each entity, in the order of {@code taskDTOs}.
+     */
+    public List<BulkItemResultDTO> updateAll(List<TaskDTO> taskDTOs) {
+        LOG.debug("Request to update {} Tasks in bulk", taskDTOs.size());
+        return bulkWrite(taskDTOs, true);
+    }
+
+    private List<BulkItemResultDTO> bulkWrite(List<TaskDTO> taskDTOs, boolean update) {
+        BulkItemResultDTO[] results = new BulkItemResultDTO[taskDTOs.size()];
+        for (int start = 0; start < taskDTOs.size(); start += BULK_CHUNK_SIZE) {
+            List<TaskDTO> chunk = taskDTOs.subList(start, Math.min(start + BULK_CHUNK_SIZE, taskDTOs.size()));
+            // Loading the existing tasks up front lets the merges below run without a select each
+            Map<Long, Long> existingVersions = update ? existingVersions(chunk) : Map.of();
+            // As are the referenced workspaces and users, so an unknown one rejects its task instead of the whole chunk
+            BulkReferences references = existingReferences(chunk);
+            List<Task> tasks = new ArrayList<>(chunk.size());
+            List<Integer> indexes = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                BulkItemResultDTO rejection = reject(start + i, chunk.get(i), update, existingVersions, references);
+                if (rejection != null) {
+                    results[start + i] = rejection;
+                } else {
+                    Task task = taskMapper.toEntity(chunk.get(i));
+                    task.setVersion(existingVersions.get(task.getId()));
+                    tasks.add(task);
+                    indexes.add(start + i);
+                }
+            }
+            List<Long> ids = taskRepository.saveAllAndFlush(tasks).stream().map(Task::getId).toList();
+            entityManager.clear();
+            for (int i = 0; i < ids.size(); i++) {
+                HttpStatus status = update ? HttpStatus.OK : HttpStatus.CREATED;
+                results[indexes.get(i)] = new BulkItemResultDTO(indexes.get(i), ids.get(i), status.value(), null);
+            }
+            if (!ids.isEmpty()) {
+                searchOutboxService.enqueueAll(Task.class, ids);
+                collectionVersionService.increment(Task.class);
+                workspaceService.evictSummaries();
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private Map<Long, Long> existingVersions(List<TaskDTO> taskDTOs) {
+        List<Long> ids = taskDTOs.stream().filter(Objects::nonNull).map(TaskDTO::getId).filter(Objects::nonNull).toList();
+        return taskRepository.findAllById(ids).stream().collect(Collectors.toMap(Task::getId, Task::getVersion));
+    }
+
+    private BulkReferences existingReferences(List<TaskDTO> taskDTOs) {
+        List<TaskDTO> tasks = taskDTOs.stream().filter(Objects::nonNull).toList();
+        Set<Long> workspaceIds = tasks
+            .stream()
+            .map(TaskDTO::getWorkspace)
+            .filter(Objects::nonNull)
+            .map(WorkspaceDTO::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<Long> userIds = tasks
+            .stream()
+            .filter(taskDTO -> taskDTO.getUsers() != null)
+            .flatMap(taskDTO -> taskDTO.getUsers().stream())
+            .filter(Objects::nonNull)
+            .map(UserDTO::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        return new BulkReferences(existingIds(Workspace.class, workspaceIds), existingIds(User.class, userIds));
+    }
+
+    private Set<Long> existingIds(Class<?> entityClass, Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(
+            entityManager
+                .createQuery("select entity.id from " + entityClass.getSimpleName() + " entity where entity.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList()
+        );
+    }
+
+    private BulkItemResultDTO reject(
+        int index,
+        TaskDTO taskDTO,
+        boolean update,
+        Map<Long, Long> existingVersions,
+        BulkReferences references
+    ) {
+        if (taskDTO == null) {
+            return new BulkItemResultDTO(index, null, HttpStatus.BAD_REQUEST.value(), "error.validation");
+        }
+        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(taskDTO);
+        if (!violations.isEmpty()) {
+            String message = violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+            return new BulkItemResultDTO(index, taskDTO.getId(), HttpStatus.BAD_REQUEST.value(), message);
+        }
+        if (!update && taskDTO.getId() != null) {
+            return new BulkItemResultDTO(index, taskDTO.getId(), HttpStatus.BAD_REQUEST.value(), "error.idexists");
+        }
+        if (update && taskDTO.getId() == null) {
+            return new BulkItemResultDTO(index, null, HttpStatus.BAD_REQUEST.value(), "error.idnull");
+        }
+        if (update && !existingVersions.containsKey(taskDTO.getId())) {
+            return new BulkItemResultDTO(index, taskDTO.getId(), HttpStatus.NOT_FOUND.value(), "error.idnotfound");
+        }
+        if (update && taskDTO.getVersion() != null && !taskDTO.getVersion().equals(existingVersions.get(taskDTO.getId()))) {
+            return new BulkItemResultDTO(index, taskDTO.getId(), HttpStatus.CONFLICT.value(), "error.concurrencyFailure");
+        }
+        WorkspaceDTO workspace = taskDTO.getWorkspace();
+        if (workspace != null && workspace.getId() != null && !references.workspaceIds().contains(workspace.getId())) {
+            return new BulkItemResultDTO(index, taskDTO.getId(), HttpStatus.BAD_REQUEST.value(), "Unknown workspace: " + workspace.getId());
+        }
+        if (taskDTO.getUsers() != null) {
+            for (UserDTO user : taskDTO.getUsers()) {
+                if (user != null && user.getId() != null && !references.userIds().contains(user.getId())) {
+                    return new BulkItemResultDTO(index, taskDTO.getId(), HttpStatus.BAD_REQUEST.value(), "Unknown user: " + user.getId());
+                }
+            }
+        }
+        return null;
+    }
+
+    private record BulkReferences(Set<Long> workspaceIds, Set<Long> userIds) {}
+
+    /**
+     * Move tasks to another workspace and/or reassign them to another user, in bulk.
+     * <p>
+     * Each chunk of {@link #BULK_CHUNK_SIZE} tasks is moved with one bulk update of {@code task}, and reassigned with one
+     * insert and one delete on {@code rel_task__user}; the version of the tasks is incremented, and the moved tasks are
+     * queued for indexing. Tasks that do not exist are skipped and reported in their result.
+     *
+     * @param taskMoveDTO the tasks, and where to move them.
+     * @return the result of each task id, in the order of the ids.
+     * @throws IllegalArgumentException if there is nothing to move, or if the workspace or user to move to does not exist.
+     */
+    public List<BulkItemResultDTO> moveAll(TaskMoveDTO taskMoveDTO) {
+        LOG.debug("Request to move Tasks in bulk : {}", taskMoveDTO);
+        Long workspaceId = taskMoveDTO.getWorkspaceId();
+        Long fromUserId = taskMoveDTO.getFromUserId();
+        Long toUserId = taskMoveDTO.getToUserId();
+        if (workspaceId == null && toUserId == null) {
+            throw new IllegalArgumentException("Neither a workspace nor a user to move the tasks to");
+        }
+        if (fromUserId != null && toUserId == null) {
+            throw new IllegalArgumentException("No user to reassign the tasks of user " + fromUserId + " to");
+        }
+        if (workspaceId != null && entityManager.find(Workspace.class, workspaceId) == null) {
+            throw new IllegalArgumentException("Unknown workspace: " + workspaceId);
+        }
+        if (toUserId != null && entityManager.find(User.class, toUserId) == null) {
+            throw new IllegalArgumentException("Unknown user: " + toUserId);
+        }
+        List<Long> taskIds = taskMoveDTO.getTaskIds();
+        BulkItemResultDTO[] results = new BulkItemResultDTO[taskIds.size()];
+        for (int start = 0; start < taskIds.size(); start += BULK_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(start, Math.min(start + BULK_CHUNK_SIZE, taskIds.size()));
+            Set<Long> ids = new HashSet<>(taskRepository.findIdsByIdIn(chunk.stream().filter(Objects::nonNull).toList()));
+            for (int i = 0; i < chunk.size(); i++) {
+                results[start + i] = ids.contains(chunk.get(i))
+                    ? new BulkItemResultDTO(start + i, chunk.get(i), HttpStatus.OK.value(), null)
+                    : new BulkItemResultDTO(start + i, chunk.get(i), HttpStatus.NOT_FOUND.value(), "error.idnotfound");
+            }
+            if (ids.isEmpty()) {
+                continue;
+            }
+            if (workspaceId != null) {
+                taskRepository.moveAllByIdIn(ids, entityManager.getReference(Workspace.class, workspaceId));
+            } else {
+                taskRepository.incrementVersionByIdIn(ids);
+            }
+            if (toUserId != null && fromUserId == null) {
+                taskRepository.deleteUsersByIdIn(ids);
+                taskRepository.addUserByIdIn(ids, toUserId);
+            } else if (toUserId != null && !toUserId.equals(fromUserId)) {
+                taskRepository.addUserInPlaceOf(ids, fromUserId, toUserId);
+                taskRepository.deleteUserByIdIn(ids, fromUserId);
+            }
+            searchOutboxService.enqueueAll(Task.class, ids);
+            entityManager.clear();
+        }
+        collectionVersionService.increment(Task.class);
+        if (workspaceId != null) {
+            workspaceService.evictSummaries();
+        }
+        return Arrays.asList(results);
     }
 
     /**
      * Partially update a task.
      *
      * @param taskDTO the entity to update partially.
-     * @return the persisted entity.
+     * @param expectedVersion the version the caller last read, or {@code null} to use the version of {@code taskDTO}, if any.
+     * @return the persisted entity, or empty if the task does not exist.
+     * @throws ObjectOptimisticLockingFailureException if the task is not at the expected version.
      */
-    public Optional<TaskDTO> partialUpdate(TaskDTO taskDTO) {
+    public Optional<TaskDTO> partialUpdate(TaskDTO taskDTO, Long expectedVersion) {
         LOG.debug("Request to partially update Task : {}", taskDTO);
 
         return taskRepository
             .findById(taskDTO.getId())
             .map(existingTask -> {
+                checkVersion(existingTask, expectedVersion != null ? expectedVersion : taskDTO.getVersion());
+                evictWorkspaceSummary(existingTask);
                 taskMapper.partialUpdate(existingTask, taskDTO);
 
                 return existingTask;
             })
-            .map(taskRepository::save)
+            .map(taskRepository::saveAndFlush)
             .map(savedTask -> {
-                taskSearchRepository.index(savedTask);
+                searchOutboxService.enqueue(Task.class, savedTask.getId());
+                collectionVersionService.increment(Task.class);
+                evictWorkspaceSummary(savedTask);
                 return savedTask;
             })
             .map(taskMapper::toDto);
     }
 
+    private void evictWorkspaceSummary(Task task) {
+        if (task.getWorkspace() != null) {
+            workspaceService.evictSummary(task.getWorkspace().getId());
+        }
+    }
+
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+    }
+
     /**
      * Get all the tasks.
+     * <p>
+     * Tasks are read as {@link me.tudu.repository.TaskSummary} projections: no entity is hydrated, managed or cached, and
+     * the ids of their users are read with one aggregated query for the whole page.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -95,16 +457,154 @@ public class TaskService {
     @Transactional(readOnly = true)
     public Page<TaskDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Tasks");
-        return taskRepository.findAll(pageable).map(taskMapper::toDto);
+        Page<TaskDTO> page = taskRepository.findAllSummaries(pageable).map(taskMapper::summaryToDto);
+        fetchUserIds(page.getContent());
+        return page;
     }
 
     /**
      * Get all the tasks with eager load of many-to-many relationships.
+     * <p>
+     * The users of a task hold only their id, so this reads the same page as {@link #findAll(Pageable)}.
      *
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<TaskDTO> findAllWithEagerRelationships(Pageable pageable) {
-        return taskRepository.findAllWithEagerRelationships(pageable).map(taskMapper::toDto);
+        return findAll(pageable);
+    }
+
+    private void fetchUserIds(List<TaskDTO> taskDTOs) {
+        Map<Long, List<Long>> userIds = taskRepository.fetchUserIds(taskDTOs.stream().map(TaskDTO::getId).toList());
+        taskDTOs.forEach(taskDTO -> taskDTO.setUsers(taskMapper.toDtoUserIdSetFromIds(userIds.getOrDefault(taskDTO.getId(), List.of()))));
+    }
+
+    /**
+     * Get a page of tasks by keyset pagination.
+     * <p>
+     * Without a cursor the first page is read, ordered by the first order of {@code pageable} (or by id). With a cursor,
+     * the page right after it is read, in the order the cursor was created with. No count query is issued.
+     *
+     * @param pageable the page size and, for the first page, the sort order.
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @param eagerload flag to eager load the many-to-many relationships.
+     * @param filter the restriction on the tasks to read.
+     * @return the page of entities, with the cursor of the next page if there is one.
+     * @throws IllegalArgumentException if the sort property cannot be used for keyset pagination, or the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<TaskDTO> findAllByKeyset(Pageable pageable, KeysetCursor cursor, boolean eagerload, Specification<Task> filter) {
+        LOG.debug("Request to get a keyset page of Tasks after {}", cursor);
+        Sort.Order order = cursor != null
+            ? new Sort.Order(cursor.getDirection(), cursor.getProperty())
+            : pageable.getSort().stream().findFirst().orElse(DEFAULT_KEYSET_ORDER);
+        SortKey<Task> sortKey = KEYSET_SORT_KEYS.get(order.getProperty());
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Unsupported keyset sort property: " + order.getProperty());
+        }
+        Specification<Task> specification = cursor != null ? filter.and(KeysetSpecifications.after(cursor, sortKey)) : filter;
+        int size = pageable.getPageSize();
+        List<Task> tasks = taskRepository.findBy(specification, query ->
+            query.sortBy(KeysetSpecifications.sort(order.getProperty(), order.getDirection())).limit(size + 1).all()
+        );
+        KeysetCursor nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            Task last = tasks.get(size - 1);
+            nextCursor = KeysetSpecifications.cursorAfter(last, last.getId(), order.getProperty(), order.getDirection(), sortKey);
+        }
+        if (eagerload) {
+            tasks = taskRepository.fetchBagRelationships(tasks);
+        }
+        return new KeysetSlice<>(tasks, nextCursor).map(taskMapper::toDto);
+    }
+
+    /**
+     * Get a page of the tasks assigned to the current user by keyset pagination, in id order.
+     * <p>
+     * The ids of the page are read from the index on the users of the tasks, then the tasks themselves as projections, so
+     * the tasks of other users are never read.
+     *
+     * @param pageable the page size and, for the first page, the direction of the order by id.
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @param eagerload flag to eager load the many-to-many relationships.
+     * @return the page of entities, with the cursor of the next page if there is one.
+     * @throws IllegalArgumentException if the tasks are not ordered by id, or the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<TaskDTO> findAllOfCurrentUser(Pageable pageable, KeysetCursor cursor, boolean eagerload) {
+        LOG.debug("Request to get a keyset page of the Tasks of the current user after {}", cursor);
+        Sort.Order order = cursor != null
+            ? new Sort.Order(cursor.getDirection(), cursor.getProperty())
+            : pageable.getSort().stream().findFirst().orElse(DEFAULT_KEYSET_ORDER);
+        if (!DEFAULT_KEYSET_ORDER.getProperty().equals(order.getProperty())) {
+            throw new IllegalArgumentException("Unsupported keyset sort property: " + order.getProperty());
+        }
+        String login = SecurityUtils.getCurrentUserLogin().orElse(null);
+        if (login == null) {
+            return new KeysetSlice<>(List.of(), null);
+        }
+        int size = pageable.getPageSize();
+        List<Long> ids = order.isAscending()
+            ? taskRepository.findTaskIdsByUserLoginAfter(login, cursor != null ? cursor.getId() : Long.MIN_VALUE, size + 1)
+            : taskRepository.findTaskIdsByUserLoginBefore(login, cursor != null ? cursor.getId() : Long.MAX_VALUE, size + 1);
+        KeysetCursor nextCursor = null;
+        if (ids.size() > size) {
+            ids = ids.subList(0, size);
+            nextCursor = new KeysetCursor(order.getProperty(), order.getDirection(), ids.get(size - 1), null);
+        }
+        Map<Long, TaskSummary> summaries = taskRepository
+            .findAllSummariesByIdIn(ids)
+            .stream()
+            .collect(Collectors.toMap(TaskSummary::id, summary -> summary));
+        List<TaskDTO> taskDTOs = ids.stream().map(summaries::get).filter(Objects::nonNull).map(taskMapper::summaryToDto).toList();
+        if (eagerload) {
+            fetchUserIds(taskDTOs);
+        }
+        return new KeysetSlice<>(taskDTOs, nextCursor);
+    }
+
+    /**
+     * Export all the tasks, in id order, with their users.
+     * <p>
+     * Tasks are streamed from a database cursor as projections, so neither the result set nor the persistence context grow
+     * with the number of tasks; the ids of their users are read for each chunk of {@link #BULK_CHUNK_SIZE} tasks.
+     *
+     * @param consumer the consumer of the exported tasks, called in the transaction of the export.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<TaskDTO> consumer) {
+        LOG.debug("Request to export all Tasks");
+        List<TaskDTO> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        try (Stream<TaskSummary> summaries = taskRepository.streamAllSummaries()) {
+            summaries.forEach(summary -> {
+                chunk.add(taskMapper.summaryToDto(summary));
+                if (chunk.size() == BULK_CHUNK_SIZE) {
+                    exportChunk(chunk, consumer);
+                }
+            });
+        }
+        exportChunk(chunk, consumer);
+    }
+
+    private void exportChunk(List<TaskDTO> chunk, Consumer<TaskDTO> consumer) {
+        fetchUserIds(chunk);
+        chunk.forEach(consumer);
+        chunk.clear();
+    }
+
+    /**
+     * Index tasks in bulk, in one request, also into the task index being rebuilt if any.
+     *
+     * @param ids the ids of the tasks.
+     * @return the number of tasks indexed.
+     */
+    @Transactional(readOnly = true)
+    public int reindex(List<Long> ids) {
+        LOG.debug("Request to reindex {} Tasks", ids.size());
+        List<Task> tasks = taskRepository.fetchBagRelationships(taskRepository.findAllById(ids));
+        searchBulkRepository.bulk(tasks.stream().map(task -> new SearchBulkItem(Task.class, task.getId(), task)).toList());
+        return tasks.size();
     }
 
     /**
@@ -119,6 +619,18 @@ public class TaskService {
         return taskRepository.findOneWithEagerRelationships(id).map(taskMapper::toDto);
     }
 
+    /**
+     * Get the version of a task, without reading the task itself.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of Task : {}", id);
+        return taskRepository.findVersionById(id);
+    }
+
     /**
      * Delete the task by id.
      *
@@ -126,8 +638,10 @@ public class TaskService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Task : {}", id);
+        taskRepository.findById(id).ifPresent(this::evictWorkspaceSummary);
         taskRepository.deleteById(id);
-        taskSearchRepository.deleteFromIndexById(id);
+        searchOutboxService.enqueue(Task.class, id);
+        collectionVersionService.increment(Task.class);
     }
 
     /**
@@ -142,4 +656,77 @@ public class TaskService {
         LOG.debug("Request to search for a page of Tasks for query {}", query);
         return taskSearchRepository.search(query, pageable).map(taskMapper::toDto);
     }
+
+    /**
+     * Search for the tasks corresponding to the query, by cursor.
+     * <p>
+     * The pages are read by {@code search_after} over a point in time of the index, so deep pages cost as much as the
+     * first one, and no total count is computed.
+     *
+     * @param query the query of the search.
+     * @param pageable the page size and, for the first page, the order of the tasks.
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @return the page of tasks found, with the cursor of the next page if there is one.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SearchSlice<TaskDTO> search(String query, Pageable pageable, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Tasks for query {} after {}", query, cursor);
+        return SearchCursors.search(pageable, cursor, (sort, limit, pointInTimeId, searchAfter) ->
+            taskSearchRepository.searchAfter(query, sort, limit, pointInTimeId, searchAfter)
+        ).map(taskMapper::toDto);
+    }
+
+    /**
+     * Search for the tasks corresponding to the query, reading only the search index.
+     * <p>
+     * Only the requested fields are fetched from the documents, and the tasks are not loaded from the database. The
+     * fragments of the title and of the description matching the query are returned with each task.
+     *
+     * @param query the query of the search.
+     * @param fields the fields of the tasks to return, or empty for {@link #DEFAULT_SEARCH_FIELDS}; the id is always returned.
+     * @param pageable the pagination information.
+     * @return the page of tasks found.
+     * @throws IllegalArgumentException if a field cannot be returned.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<TaskSearchHitDTO> searchHits(String query, List<String> fields, Pageable pageable) {
+        LOG.debug("Request to search for a page of Task hits for query {} and fields {}", query, fields);
+        List<String> sourceFields = new ArrayList<>();
+        sourceFields.add("id");
+        for (String field : fields.isEmpty() ? DEFAULT_SEARCH_FIELDS : fields) {
+            String sourceField = SEARCH_SOURCE_FIELDS.get(field);
+            if (sourceField == null) {
+                throw new IllegalArgumentException("Field " + field + " cannot be returned by a search");
+            }
+            sourceFields.add(sourceField);
+        }
+        return taskSearchRepository
+            .searchProjected(query, sourceFields, pageable)
+            .map(hit -> {
+                TaskSearchHitDTO taskSearchHitDTO = taskMapper.toSearchHitDto(hit.getContent());
+                if (!hit.getHighlightFields().isEmpty()) {
+                    taskSearchHitDTO.setHighlights(hit.getHighlightFields());
+                }
+                return taskSearchHitDTO;
+            });
+    }
+
+    /**
+     * Suggest the tasks whose title starts with the words typed, for search-as-you-type.
+     * <p>
+     * Only the index is read, with no transaction, and only the id and the title of the tasks are fetched.
+     *
+     * @param prefix the beginning of the title.
+     * @param size the maximum number of tasks, at most {@link #MAX_SUGGESTIONS}.
+     * @return the tasks suggested, best first.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TaskSuggestionDTO> suggest(String prefix, int size) {
+        LOG.debug("Request to suggest Tasks for prefix {}", prefix);
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SUGGESTIONS));
+        return taskSearchRepository.suggest(prefix, limit).stream().map(taskMapper::toSuggestionDto).toList();
+    }
 }
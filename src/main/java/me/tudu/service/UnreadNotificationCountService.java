@@ -0,0 +1,233 @@
+package me.tudu.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import me.tudu.config.ApplicationProperties;
+import me.tudu.domain.Notification;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.repository.NotificationRepository;
+import me.tudu.repository.UserNotificationCount;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping the number of unread notifications of each user in a Redis counter, shared by all the instances.
+ * <p>
+ * A notification is unread until it has the {@link #READ} status. A counter is seeded from the database the first time it
+ * is read, and expires after {@code application.unread-count.expiration}; it is then changed by the writes of the
+ * notifications of its user, once they are committed, and only while it exists, so a write never creates a counter that
+ * misses the notifications written before. The counters still drift when a write races with their seeding, so they are
+ * repaired from the database every {@code application.unread-count.reconcile-delay}.
+ */
+@Service
+public class UnreadNotificationCountService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UnreadNotificationCountService.class);
+
+    /**
+     * The status of the notifications that have been read.
+     */
+    public static final Status READ = Status.COMPLETED;
+
+    private static final String KEY_PREFIX = "notification-unread:";
+
+    // Adds to the counter only if it exists, and never takes it below zero
+    private static final String ADD_IF_EXISTS =
+        """
+        if redis.call('exists', KEYS[1]) == 0 then
+            return nil
+        end
+        local count = redis.call('incrby', KEYS[1], ARGV[1])
+        if count < 0 then
+            redis.call('set', KEYS[1], 0, 'keepttl')
+            return 0
+        end
+        return count
+        """;
+
+    private final RedissonClient redissonClient;
+
+    private final NotificationRepository notificationRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    public UnreadNotificationCountService(
+        RedissonClient redissonClient,
+        NotificationRepository notificationRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.redissonClient = redissonClient;
+        this.notificationRepository = notificationRepository;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Check whether a notification is unread.
+     *
+     * @param notification the notification.
+     * @return {@code true} if the notification does not have the {@link #READ} status.
+     */
+    public static boolean isUnread(Notification notification) {
+        return notification.getStatus() != READ;
+    }
+
+    /**
+     * Get the number of unread notifications of a user, seeding the counter from the database if needed.
+     *
+     * @param userId the id of the user.
+     * @return the number of unread notifications.
+     */
+    public long getUnreadCount(Long userId) {
+        RAtomicLong counter = counter(userId);
+        if (!counter.isExists()) {
+            long count = notificationRepository.countUnreadByUserId(userId, READ);
+            if (counter.compareAndSet(0, count)) {
+                counter.expire(applicationProperties.getUnreadCount().getExpiration());
+            }
+        }
+        return counter.get();
+    }
+
+    /**
+     * Change the number of unread notifications of a user, once the current transaction is committed.
+     *
+     * @param userId the id of the user, if any.
+     * @param delta the change of the number of unread notifications.
+     */
+    public void add(Long userId, long delta) {
+        if (userId != null && delta != 0) {
+            addAll(Map.of(userId, delta));
+        }
+    }
+
+    /**
+     * Change the number of unread notifications of users, once the current transaction is committed.
+     *
+     * @param deltas the change of the number of unread notifications, by user id.
+     */
+    public void addAll(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        addAllNow(deltas);
+                    }
+                }
+            );
+        } else {
+            addAllNow(deltas);
+        }
+    }
+
+    /**
+     * Change the number of unread notifications of users for a notification written, once the current transaction is
+     * committed.
+     *
+     * @param before the notification before it was written, or {@code null} if it was created.
+     * @param after the notification after it was written, or {@code null} if it was deleted.
+     */
+    public void addChange(Notification before, Notification after) {
+        Map<Long, Long> deltas = new HashMap<>();
+        if (before != null && before.getUser() != null && isUnread(before)) {
+            deltas.merge(before.getUser().getId(), -1L, Long::sum);
+        }
+        if (after != null && after.getUser() != null && isUnread(after)) {
+            deltas.merge(after.getUser().getId(), 1L, Long::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        addAll(deltas);
+    }
+
+    private void addAllNow(Map<Long, Long> deltas) {
+        RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+        deltas.forEach((userId, delta) -> {
+            try {
+                List<Object> keys = List.of(key(userId));
+                script.eval(RScript.Mode.READ_WRITE, ADD_IF_EXISTS, RScript.ReturnType.INTEGER, keys, String.valueOf(delta));
+            } catch (RuntimeException e) {
+                // The counter is repaired by the next reconciliation
+                LOG.warn("Could not add {} to the unread notification count of user {}", delta, userId, e);
+            }
+        });
+    }
+
+    /**
+     * Repair the existing counters from the database.
+     * <p>
+     * This is scheduled to get fired every {@code application.unread-count.reconcile-delay} after the end of the previous
+     * run.
+     */
+    @Scheduled(fixedDelayString = "${application.unread-count.reconcile-delay:PT1H}")
+    public void reconcile() {
+        if (applicationProperties.getUnreadCount().isReconcileEnabled()) {
+            reconcileNow();
+        }
+    }
+
+    /**
+     * Repair the existing counters from the database, by batches of {@code application.unread-count.reconcile-batch-size}
+     * users.
+     *
+     * @return the number of counters repaired.
+     */
+    public int reconcileNow() {
+        int batchSize = applicationProperties.getUnreadCount().getReconcileBatchSize();
+        int repaired = 0;
+        try (Stream<String> keys = redissonClient.getKeys().getKeysStreamByPattern(KEY_PREFIX + "*", batchSize)) {
+            Iterator<String> iterator = keys.iterator();
+            List<Long> userIds = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                userIds.add(Long.valueOf(iterator.next().substring(KEY_PREFIX.length())));
+                if (userIds.size() == batchSize || !iterator.hasNext()) {
+                    repaired += reconcile(userIds);
+                    userIds.clear();
+                }
+            }
+        }
+        LOG.debug("Repaired {} unread notification counters", repaired);
+        return repaired;
+    }
+
+    private int reconcile(List<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        userIds.forEach(userId -> counts.put(userId, 0L));
+        for (UserNotificationCount count : notificationRepository.countUnreadByUserIdIn(userIds, READ)) {
+            counts.put(count.userId(), count.count());
+        }
+        int repaired = 0;
+        for (Map.Entry<Long, Long> count : counts.entrySet()) {
+            RAtomicLong counter = counter(count.getKey());
+            long current = counter.get();
+            if (current != count.getValue() && counter.compareAndSet(current, count.getValue())) {
+                LOG.debug("Unread notification count of user {} repaired from {} to {}", count.getKey(), current, count.getValue());
+                counter.expire(applicationProperties.getUnreadCount().getExpiration());
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private RAtomicLong counter(Long userId) {
+        return redissonClient.getAtomicLong(key(userId));
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -13,6 +13,8 @@ import me.tudu.repository.search.UserSearchRepository;
 import me.tudu.security.AuthoritiesConstants;
 import me.tudu.security.SecurityUtils;
 import me.tudu.service.dto.AdminUserDTO;
+import me.tudu.service.dto.SearchCursor;
+import me.tudu.service.dto.SearchSlice;
 import me.tudu.service.dto.UserDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +24,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -44,18 +47,22 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final SearchOutboxService searchOutboxService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         UserSearchRepository userSearchRepository,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        SearchOutboxService searchOutboxService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userSearchRepository = userSearchRepository;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.searchOutboxService = searchOutboxService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -66,7 +73,7 @@ public class UserService {
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
-                userSearchRepository.save(user);
+                searchOutboxService.enqueue(User.class, user.getId());
                 this.clearUserCaches(user);
                 LOG.debug("Activated user: {}", user);
                 return user;
@@ -136,7 +143,7 @@ public class UserService {
         authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
-        userSearchRepository.save(newUser);
+        searchOutboxService.enqueue(User.class, newUser.getId());
         this.clearUserCaches(newUser);
         LOG.debug("Created Information for User: {}", newUser);
         return newUser;
@@ -182,7 +189,7 @@ public class UserService {
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
-        userSearchRepository.index(user);
+        searchOutboxService.enqueue(User.class, user.getId());
         this.clearUserCaches(user);
         LOG.debug("Created Information for User: {}", user);
         return user;
@@ -219,7 +226,7 @@ public class UserService {
                     .map(Optional::get)
                     .forEach(managedAuthorities::add);
                 userRepository.save(user);
-                userSearchRepository.index(user);
+                searchOutboxService.enqueue(User.class, user.getId());
                 this.clearUserCaches(user);
                 LOG.debug("Changed Information for User: {}", user);
                 return user;
@@ -232,7 +239,7 @@ public class UserService {
             .findOneByLogin(login)
             .ifPresent(user -> {
                 userRepository.delete(user);
-                userSearchRepository.deleteFromIndex(user);
+                searchOutboxService.enqueue(User.class, user.getId());
                 this.clearUserCaches(user);
                 LOG.debug("Deleted User: {}", user);
             });
@@ -259,7 +266,7 @@ public class UserService {
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
                 userRepository.save(user);
-                userSearchRepository.index(user);
+                searchOutboxService.enqueue(User.class, user.getId());
                 this.clearUserCaches(user);
                 LOG.debug("Changed Information for User: {}", user);
             });
@@ -291,6 +298,21 @@ public class UserService {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
+    /**
+     * Search for the users corresponding to the query, by cursor, with only their public information.
+     *
+     * @param query the query of the search.
+     * @param pageable the page size and, for the first page, the order of the users.
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @return the page of users found, with the cursor of the next page if there is one.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SearchSlice<UserDTO> searchPublicUsers(String query, Pageable pageable, SearchCursor cursor) {
+        return SearchCursors.search(pageable, cursor, (sort, limit, pointInTimeId, searchAfter) ->
+            userSearchRepository.searchAfter(query, sort, limit, pointInTimeId, searchAfter)
+        ).map(UserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneWithAuthoritiesByLogin(login);
@@ -313,7 +335,7 @@ public class UserService {
             .forEach(user -> {
                 LOG.debug("Deleting not activated user {}", user.getLogin());
                 userRepository.delete(user);
-                userSearchRepository.deleteFromIndex(user);
+                searchOutboxService.enqueue(User.class, user.getId());
                 this.clearUserCaches(user);
             });
     }
@@ -0,0 +1,106 @@
+package me.tudu.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Arrays;
+import java.util.Collection;
+import me.tudu.config.ApplicationProperties;
+import me.tudu.repository.WorkspaceRepository;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping an in-memory index of the workspaces each user is a member of, to list the workspaces of a user without
+ * loading the users of every workspace.
+ * <p>
+ * The workspace ids of a user are kept as a sorted array, loaded on first use through the index on
+ * {@code rel_workspace__user(user_id)}, for the {@code application.workspace-membership.maximum-size} most recently
+ * active users and until unused for {@code application.workspace-membership.expire-after-access}. The memberships of the
+ * users of a workspace are evicted once a write to that workspace is committed, on this instance at once and on the
+ * others through a Redis topic.
+ */
+@Service
+public class WorkspaceMembershipService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkspaceMembershipService.class);
+
+    private static final String EVICTION_TOPIC = "workspace-membership:evictions";
+
+    private final Cache<Long, long[]> workspaceIdsByUserId;
+
+    private final WorkspaceRepository workspaceRepository;
+
+    private final RTopic evictionTopic;
+
+    public WorkspaceMembershipService(
+        WorkspaceRepository workspaceRepository,
+        RedissonClient redissonClient,
+        ApplicationProperties applicationProperties
+    ) {
+        this.workspaceRepository = workspaceRepository;
+        this.workspaceIdsByUserId = Caffeine.newBuilder()
+            .maximumSize(applicationProperties.getWorkspaceMembership().getMaximumSize())
+            .expireAfterAccess(applicationProperties.getWorkspaceMembership().getExpireAfterAccess())
+            .build();
+        this.evictionTopic = redissonClient.getTopic(EVICTION_TOPIC);
+        this.evictionTopic.addListener(long[].class, (channel, userIds) -> evictNow(userIds));
+    }
+
+    /**
+     * Get the ids of the workspaces of a user.
+     *
+     * @param userId the id of the user.
+     * @return the ids of the workspaces, in ascending order.
+     */
+    public long[] getWorkspaceIds(Long userId) {
+        // Loading under the lock of the entry makes an eviction wait for a load in progress, so it never keeps stale data
+        return workspaceIdsByUserId.get(userId, this::loadWorkspaceIds).clone();
+    }
+
+    /**
+     * Evict the memberships of users, once the current transaction is committed.
+     *
+     * @param userIds the ids of the users whose workspaces changed.
+     */
+    public void evict(Collection<Long> userIds) {
+        long[] ids = userIds.stream().filter(id -> id != null).mapToLong(Long::longValue).distinct().toArray();
+        if (ids.length == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictEverywhere(ids);
+                    }
+                }
+            );
+        } else {
+            evictEverywhere(ids);
+        }
+    }
+
+    private void evictEverywhere(long[] userIds) {
+        evictNow(userIds);
+        try {
+            evictionTopic.publish(userIds);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not publish the eviction of the workspace memberships of users {}", Arrays.toString(userIds), e);
+        }
+    }
+
+    private void evictNow(long[] userIds) {
+        LOG.debug("Evicting the workspace memberships of users {}", Arrays.toString(userIds));
+        workspaceIdsByUserId.invalidateAll(Arrays.stream(userIds).boxed().toList());
+    }
+
+    private long[] loadWorkspaceIds(Long userId) {
+        return workspaceRepository.findIdsByUserId(userId).stream().mapToLong(Long::longValue).toArray();
+    }
+}
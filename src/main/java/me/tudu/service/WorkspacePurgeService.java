@@ -0,0 +1,99 @@
+package me.tudu.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import me.tudu.domain.Task;
+import me.tudu.domain.Workspace;
+import me.tudu.repository.WorkspacePurgeRepository;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service purging a workspace together with its tasks.
+ * <p>
+ * The workspace, its tasks and their relationships are removed with set-based deletes in one transaction, instead of one
+ * delete per task. The deletes bypass Hibernate, so once they are committed the cached tasks and their users are evicted
+ * from the second-level cache wholesale. The index documents of the workspace and of its tasks are deleted through the
+ * search outbox, so they are also deleted from an index being rebuilt.
+ */
+@Service
+@Transactional
+public class WorkspacePurgeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkspacePurgeService.class);
+
+    private final WorkspacePurgeRepository workspacePurgeRepository;
+
+    private final WorkspaceService workspaceService;
+
+    private final WorkspaceMembershipService workspaceMembershipService;
+
+    private final CollectionVersionService collectionVersionService;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public WorkspacePurgeService(
+        WorkspacePurgeRepository workspacePurgeRepository,
+        WorkspaceService workspaceService,
+        WorkspaceMembershipService workspaceMembershipService,
+        CollectionVersionService collectionVersionService,
+        SearchOutboxService searchOutboxService,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        this.workspacePurgeRepository = workspacePurgeRepository;
+        this.workspaceService = workspaceService;
+        this.workspaceMembershipService = workspaceMembershipService;
+        this.collectionVersionService = collectionVersionService;
+        this.searchOutboxService = searchOutboxService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Delete a workspace, its tasks, and the users of both.
+     *
+     * @param id the id of the workspace.
+     * @return {@code true} if the workspace existed.
+     */
+    public boolean purge(Long id) {
+        LOG.debug("Request to purge Workspace : {}", id);
+        if (!workspacePurgeRepository.lockWorkspace(id)) {
+            return false;
+        }
+        workspacePurgeRepository.deleteTaskUsers(id);
+        List<Long> taskIds = workspacePurgeRepository.deleteTasks(id);
+        List<Long> memberIds = workspacePurgeRepository.deleteWorkspaceUsers(id);
+        workspacePurgeRepository.deleteWorkspace(id);
+        LOG.debug("Purged Workspace {} with {} tasks", id, taskIds.size());
+        searchOutboxService.enqueueAll(Task.class, taskIds);
+        searchOutboxService.enqueue(Workspace.class, id);
+
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictEntities(id);
+                }
+            }
+        );
+        collectionVersionService.increment(Task.class);
+        collectionVersionService.increment(Workspace.class);
+        workspaceService.evictSummary(id);
+        workspaceMembershipService.evict(memberIds);
+        return true;
+    }
+
+    private void evictEntities(Long id) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Task.class);
+        cache.evictCollectionData(Task.class.getName() + ".users");
+        cache.evictEntityData(Workspace.class, id);
+        cache.evictCollectionData(Workspace.class.getName() + ".users", id);
+    }
+}
@@ -1,17 +1,41 @@
 package me.tudu.service;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import me.tudu.domain.User;
 import me.tudu.domain.Workspace;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.repository.TaskRepository;
+import me.tudu.repository.UserRepository;
 import me.tudu.repository.WorkspaceRepository;
+import me.tudu.repository.WorkspaceTaskCount;
 import me.tudu.repository.search.WorkspaceSearchRepository;
+import me.tudu.security.SecurityUtils;
+import me.tudu.service.dto.SearchCursor;
+import me.tudu.service.dto.SearchSlice;
 import me.tudu.service.dto.WorkspaceDTO;
+import me.tudu.service.dto.WorkspaceSuggestionDTO;
+import me.tudu.service.dto.WorkspaceSummaryDTO;
 import me.tudu.service.mapper.WorkspaceMapper;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link me.tudu.domain.Workspace}.
@@ -22,20 +46,60 @@ public class WorkspaceService {
 
     private static final Logger LOG = LoggerFactory.getLogger(WorkspaceService.class);
 
+    /**
+     * The maximum number of workspaces suggested at once.
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    /**
+     * The cache of the workspace summaries, by workspace id.
+     */
+    public static final String WORKSPACE_SUMMARY_CACHE = "workspaceSummary";
+
+    private static final String SUMMARY_EPOCH_KEY = "workspace-summary-epoch";
+
     private final WorkspaceRepository workspaceRepository;
 
     private final WorkspaceMapper workspaceMapper;
 
     private final WorkspaceSearchRepository workspaceSearchRepository;
 
+    private final CollectionVersionService collectionVersionService;
+
+    private final TaskRepository taskRepository;
+
+    private final CacheManager cacheManager;
+
+    private final WorkspaceMembershipService workspaceMembershipService;
+
+    private final UserRepository userRepository;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final RAtomicLong summaryEpoch;
+
     public WorkspaceService(
         WorkspaceRepository workspaceRepository,
         WorkspaceMapper workspaceMapper,
-        WorkspaceSearchRepository workspaceSearchRepository
+        WorkspaceSearchRepository workspaceSearchRepository,
+        CollectionVersionService collectionVersionService,
+        TaskRepository taskRepository,
+        CacheManager cacheManager,
+        WorkspaceMembershipService workspaceMembershipService,
+        UserRepository userRepository,
+        SearchOutboxService searchOutboxService,
+        RedissonClient redissonClient
     ) {
         this.workspaceRepository = workspaceRepository;
         this.workspaceMapper = workspaceMapper;
         this.workspaceSearchRepository = workspaceSearchRepository;
+        this.collectionVersionService = collectionVersionService;
+        this.taskRepository = taskRepository;
+        this.cacheManager = cacheManager;
+        this.workspaceMembershipService = workspaceMembershipService;
+        this.userRepository = userRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.summaryEpoch = redissonClient.getAtomicLong(SUMMARY_EPOCH_KEY);
     }
 
     /**
@@ -46,9 +110,13 @@ public class WorkspaceService {
      */
     public WorkspaceDTO save(WorkspaceDTO workspaceDTO) {
         LOG.debug("Request to save Workspace : {}", workspaceDTO);
+        Set<Long> memberIds = findMemberIds(workspaceDTO.getId());
         Workspace workspace = workspaceMapper.toEntity(workspaceDTO);
         workspace = workspaceRepository.save(workspace);
-        workspaceSearchRepository.index(workspace);
+        searchOutboxService.enqueue(Workspace.class, workspace.getId());
+        collectionVersionService.increment(Workspace.class);
+        evictSummary(workspace.getId());
+        evictMemberships(memberIds, workspace);
         return workspaceMapper.toDto(workspace);
     }
 
@@ -60,9 +128,13 @@ public class WorkspaceService {
      */
     public WorkspaceDTO update(WorkspaceDTO workspaceDTO) {
         LOG.debug("Request to update Workspace : {}", workspaceDTO);
+        Set<Long> memberIds = findMemberIds(workspaceDTO.getId());
         Workspace workspace = workspaceMapper.toEntity(workspaceDTO);
         workspace = workspaceRepository.save(workspace);
-        workspaceSearchRepository.index(workspace);
+        searchOutboxService.enqueue(Workspace.class, workspace.getId());
+        collectionVersionService.increment(Workspace.class);
+        evictSummary(workspace.getId());
+        evictMemberships(memberIds, workspace);
         return workspaceMapper.toDto(workspace);
     }
 
@@ -75,6 +147,7 @@ public class WorkspaceService {
     public Optional<WorkspaceDTO> partialUpdate(WorkspaceDTO workspaceDTO) {
         LOG.debug("Request to partially update Workspace : {}", workspaceDTO);
 
+        Set<Long> memberIds = findMemberIds(workspaceDTO.getId());
         return workspaceRepository
             .findById(workspaceDTO.getId())
             .map(existingWorkspace -> {
@@ -84,7 +157,10 @@ public class WorkspaceService {
             })
             .map(workspaceRepository::save)
             .map(savedWorkspace -> {
-                workspaceSearchRepository.index(savedWorkspace);
+                searchOutboxService.enqueue(Workspace.class, savedWorkspace.getId());
+                collectionVersionService.increment(Workspace.class);
+                evictSummary(savedWorkspace.getId());
+                evictMemberships(memberIds, savedWorkspace);
                 return savedWorkspace;
             })
             .map(workspaceMapper::toDto);
@@ -111,6 +187,25 @@ public class WorkspaceService {
         return workspaceRepository.findAllWithEagerRelationships(pageable).map(workspaceMapper::toDto);
     }
 
+    /**
+     * Get all the workspaces the current user is a member of, from the membership index.
+     *
+     * @return the list of entities, in id order.
+     */
+    @Transactional(readOnly = true)
+    public List<WorkspaceDTO> findAllOfCurrentUser() {
+        LOG.debug("Request to get all Workspaces of the current user");
+        return SecurityUtils.getCurrentUserLogin()
+            .flatMap(userRepository::findOneByLogin)
+            .map(user -> Arrays.stream(workspaceMembershipService.getWorkspaceIds(user.getId())).boxed().toList())
+            .map(workspaceIds -> workspaceRepository.fetchBagRelationships(workspaceRepository.findAllById(workspaceIds)))
+            .orElse(List.of())
+            .stream()
+            .sorted(Comparator.comparing(Workspace::getId))
+            .map(workspaceMapper::toDto)
+            .toList();
+    }
+
     /**
      * Get one workspace by id.
      *
@@ -123,6 +218,100 @@ public class WorkspaceService {
         return workspaceRepository.findOneWithEagerRelationships(id).map(workspaceMapper::toDto);
     }
 
+    /**
+     * Get the summary of one workspace by id: its members, and the counts of its tasks by status and priority.
+     * <p>
+     * Summaries are cached until a task of the workspace changes, or until one of its tasks becomes overdue. As a write may
+     * commit and evict the summary between its read and its put, every eviction first changes an epoch, and a summary put
+     * while the epoch changed is evicted again.
+     *
+     * @param id the id of the entity.
+     * @return the summary.
+     */
+    @Transactional(readOnly = true)
+    public Optional<WorkspaceSummaryDTO> findSummary(Long id) {
+        LOG.debug("Request to get the summary of Workspace : {}", id);
+        Instant now = Instant.now();
+        Cache cache = cacheManager.getCache(WORKSPACE_SUMMARY_CACHE);
+        WorkspaceSummaryDTO cached = cache.get(id, WorkspaceSummaryDTO.class);
+        if (cached != null && (cached.getNextDueDate() == null || now.isBefore(cached.getNextDueDate()))) {
+            return Optional.of(cached);
+        }
+        long epoch = summaryEpoch.get();
+        Optional<WorkspaceSummaryDTO> summary = workspaceRepository.findOneWithEagerRelationships(id).map(workspace -> {
+            WorkspaceSummaryDTO workspaceSummaryDTO = new WorkspaceSummaryDTO();
+            workspaceSummaryDTO.setWorkspace(workspaceMapper.toDto(workspace));
+            workspaceSummaryDTO.setMemberIds(workspace.getUsers().stream().map(User::getId).collect(Collectors.toSet()));
+            for (WorkspaceTaskCount count : taskRepository.countByWorkspace(id, now, Status.COMPLETED)) {
+                addTaskCount(workspaceSummaryDTO, count);
+            }
+            return workspaceSummaryDTO;
+        });
+        summary.ifPresent(workspaceSummaryDTO -> {
+            cache.put(id, workspaceSummaryDTO);
+            if (summaryEpoch.get() != epoch) {
+                cache.evict(id);
+            }
+        });
+        return summary;
+    }
+
+    private static void addTaskCount(WorkspaceSummaryDTO workspaceSummaryDTO, WorkspaceTaskCount count) {
+        workspaceSummaryDTO.setTaskCount(workspaceSummaryDTO.getTaskCount() + count.taskCount());
+        workspaceSummaryDTO.setOverdueTaskCount(workspaceSummaryDTO.getOverdueTaskCount() + count.overdueCount());
+        if (count.status() != null) {
+            workspaceSummaryDTO.getTaskCountByStatus().merge(count.status(), count.taskCount(), Long::sum);
+        }
+        if (count.priority() != null) {
+            workspaceSummaryDTO.getTaskCountByPriority().merge(count.priority(), count.taskCount(), Long::sum);
+        }
+        if (
+            count.nextDueDate() != null &&
+            (workspaceSummaryDTO.getNextDueDate() == null || count.nextDueDate().isBefore(workspaceSummaryDTO.getNextDueDate()))
+        ) {
+            workspaceSummaryDTO.setNextDueDate(count.nextDueDate());
+        }
+    }
+
+    /**
+     * Evict the summary of a workspace from the cache, once the current transaction is committed.
+     *
+     * @param id the id of the workspace, if any.
+     */
+    public void evictSummary(Long id) {
+        if (id != null) {
+            afterCommit(() -> cacheManager.getCache(WORKSPACE_SUMMARY_CACHE).evict(id));
+        }
+    }
+
+    /**
+     * Evict the summaries of all the workspaces from the cache, once the current transaction is committed.
+     */
+    public void evictSummaries() {
+        afterCommit(() -> cacheManager.getCache(WORKSPACE_SUMMARY_CACHE).clear());
+    }
+
+    // The epoch is changed before the eviction, so a summary read before the write is either evicted by it, or put while
+    // the epoch changed
+    private void afterCommit(Runnable eviction) {
+        Runnable evictNow = () -> {
+            summaryEpoch.incrementAndGet();
+            eviction.run();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictNow.run();
+                    }
+                }
+            );
+        } else {
+            evictNow.run();
+        }
+    }
+
     /**
      * Delete the workspace by id.
      *
@@ -130,8 +319,22 @@ public class WorkspaceService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Workspace : {}", id);
+        Set<Long> memberIds = findMemberIds(id);
         workspaceRepository.deleteById(id);
-        workspaceSearchRepository.deleteFromIndexById(id);
+        searchOutboxService.enqueue(Workspace.class, id);
+        collectionVersionService.increment(Workspace.class);
+        evictSummary(id);
+        workspaceMembershipService.evict(memberIds);
+    }
+
+    private Set<Long> findMemberIds(Long id) {
+        return id != null ? new HashSet<>(workspaceRepository.findUserIdsById(id)) : new HashSet<>();
+    }
+
+    // The users who were members before the write, and those who are members after it
+    private void evictMemberships(Set<Long> memberIds, Workspace workspace) {
+        workspace.getUsers().forEach(user -> memberIds.add(user.getId()));
+        workspaceMembershipService.evict(memberIds);
     }
 
     /**
@@ -146,4 +349,42 @@ public class WorkspaceService {
         LOG.debug("Request to search for a page of Workspaces for query {}", query);
         return workspaceSearchRepository.search(query, pageable).map(workspaceMapper::toDto);
     }
+
+    /**
+     * Search for the workspaces corresponding to the query, by cursor.
+     * <p>
+     * The pages are read by {@code search_after} over a point in time of the index, so deep pages cost as much as the
+     * first one, and no total count is computed.
+     *
+     * @param query the query of the search.
+     * @param pageable the page size and, for the first page, the order of the workspaces.
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @return the page of workspaces found, with the cursor of the next page if there is one.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SearchSlice<WorkspaceDTO> search(String query, Pageable pageable, SearchCursor cursor) {
+        LOG.debug("Request to search for a cursor page of Workspaces for query {} after {}", query, cursor);
+        return SearchCursors.search(pageable, cursor, (sort, limit, pointInTimeId, searchAfter) ->
+            workspaceSearchRepository.searchAfter(query, sort, limit, pointInTimeId, searchAfter)
+        ).map(workspaceMapper::toDto);
+    }
+
+    /**
+     * Suggest the workspaces whose name starts with the words typed, for search-as-you-type.
+     * <p>
+     * Only the index is read, with no transaction, and only the id and the name of the workspaces are fetched.
+     *
+     * @param prefix the beginning of the name.
+     * @param size the maximum number of workspaces, at most {@link #MAX_SUGGESTIONS}.
+     * @return the workspaces suggested, best first.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<WorkspaceSuggestionDTO> suggest(String prefix, int size) {
+        LOG.debug("Request to suggest Workspaces for prefix {}", prefix);
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SUGGESTIONS));
+        return workspaceSearchRepository.suggest(prefix, limit).stream().map(workspaceMapper::toSuggestionDto).toList();
+    }
 }
@@ -0,0 +1,439 @@
+package me.tudu.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import me.tudu.domain.enumeration.Priority;
+import me.tudu.domain.enumeration.Privilege;
+import me.tudu.domain.enumeration.Status;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link me.tudu.domain.Task} entity. This class is used
+ * in {@link me.tudu.web.rest.TaskResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /tasks?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TaskCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering Priority
+     */
+    public static class PriorityFilter extends Filter<Priority> {
+
+        public PriorityFilter() {}
+
+        public PriorityFilter(PriorityFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public PriorityFilter copy() {
+            return new PriorityFilter(this);
+        }
+    }
+
+    /**
+     * Class for filtering Status
+     */
+    public static class StatusFilter extends Filter<Status> {
+
+        public StatusFilter() {}
+
+        public StatusFilter(StatusFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public StatusFilter copy() {
+            return new StatusFilter(this);
+        }
+    }
+
+    /**
+     * Class for filtering Privilege
+     */
+    public static class PrivilegeFilter extends Filter<Privilege> {
+
+        public PrivilegeFilter() {}
+
+        public PrivilegeFilter(PrivilegeFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public PrivilegeFilter copy() {
+            return new PrivilegeFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter title;
+
+    private StringFilter description;
+
+    private InstantFilter dueDate;
+
+    private PriorityFilter priority;
+
+    private StatusFilter status;
+
+    private StringFilter category;
+
+    private InstantFilter createdAt;
+
+    private InstantFilter updatedAt;
+
+    private PrivilegeFilter privilege;
+
+    private LongFilter workspaceId;
+
+    private LongFilter userId;
+
+    private Boolean distinct;
+
+    public TaskCriteria() {}
+
+    public TaskCriteria(TaskCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.title = other.optionalTitle().map(StringFilter::copy).orElse(null);
+        this.description = other.optionalDescription().map(StringFilter::copy).orElse(null);
+        this.dueDate = other.optionalDueDate().map(InstantFilter::copy).orElse(null);
+        this.priority = other.optionalPriority().map(PriorityFilter::copy).orElse(null);
+        this.status = other.optionalStatus().map(StatusFilter::copy).orElse(null);
+        this.category = other.optionalCategory().map(StringFilter::copy).orElse(null);
+        this.createdAt = other.optionalCreatedAt().map(InstantFilter::copy).orElse(null);
+        this.updatedAt = other.optionalUpdatedAt().map(InstantFilter::copy).orElse(null);
+        this.privilege = other.optionalPrivilege().map(PrivilegeFilter::copy).orElse(null);
+        this.workspaceId = other.optionalWorkspaceId().map(LongFilter::copy).orElse(null);
+        this.userId = other.optionalUserId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public TaskCriteria copy() {
+        return new TaskCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getTitle() {
+        return title;
+    }
+
+    public Optional<StringFilter> optionalTitle() {
+        return Optional.ofNullable(title);
+    }
+
+    public StringFilter title() {
+        if (title == null) {
+            setTitle(new StringFilter());
+        }
+        return title;
+    }
+
+    public void setTitle(StringFilter title) {
+        this.title = title;
+    }
+
+    public StringFilter getDescription() {
+        return description;
+    }
+
+    public Optional<StringFilter> optionalDescription() {
+        return Optional.ofNullable(description);
+    }
+
+    public StringFilter description() {
+        if (description == null) {
+            setDescription(new StringFilter());
+        }
+        return description;
+    }
+
+    public void setDescription(StringFilter description) {
+        this.description = description;
+    }
+
+    public InstantFilter getDueDate() {
+        return dueDate;
+    }
+
+    public Optional<InstantFilter> optionalDueDate() {
+        return Optional.ofNullable(dueDate);
+    }
+
+    public InstantFilter dueDate() {
+        if (dueDate == null) {
+            setDueDate(new InstantFilter());
+        }
+        return dueDate;
+    }
+
+    public void setDueDate(InstantFilter dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public PriorityFilter getPriority() {
+        return priority;
+    }
+
+    public Optional<PriorityFilter> optionalPriority() {
+        return Optional.ofNullable(priority);
+    }
+
+    public PriorityFilter priority() {
+        if (priority == null) {
+            setPriority(new PriorityFilter());
+        }
+        return priority;
+    }
+
+    public void setPriority(PriorityFilter priority) {
+        this.priority = priority;
+    }
+
+    public StatusFilter getStatus() {
+        return status;
+    }
+
+    public Optional<StatusFilter> optionalStatus() {
+        return Optional.ofNullable(status);
+    }
+
+    public StatusFilter status() {
+        if (status == null) {
+            setStatus(new StatusFilter());
+        }
+        return status;
+    }
+
+    public void setStatus(StatusFilter status) {
+        this.status = status;
+    }
+
+    public StringFilter getCategory() {
+        return category;
+    }
+
+    public Optional<StringFilter> optionalCategory() {
+        return Optional.ofNullable(category);
+    }
+
+    public StringFilter category() {
+        if (category == null) {
+            setCategory(new StringFilter());
+        }
+        return category;
+    }
+
+    public void setCategory(StringFilter category) {
+        this.category = category;
+    }
+
+    public InstantFilter getCreatedAt() {
+        return createdAt;
+    }
+
+    public Optional<InstantFilter> optionalCreatedAt() {
+        return Optional.ofNullable(createdAt);
+    }
+
+    public InstantFilter createdAt() {
+        if (createdAt == null) {
+            setCreatedAt(new InstantFilter());
+        }
+        return createdAt;
+    }
+
+    public void setCreatedAt(InstantFilter createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public InstantFilter getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Optional<InstantFilter> optionalUpdatedAt() {
+        return Optional.ofNullable(updatedAt);
+    }
+
+    public InstantFilter updatedAt() {
+        if (updatedAt == null) {
+            setUpdatedAt(new InstantFilter());
+        }
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(InstantFilter updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public PrivilegeFilter getPrivilege() {
+        return privilege;
+    }
+
+    public Optional<PrivilegeFilter> optionalPrivilege() {
+        return Optional.ofNullable(privilege);
+    }
+
+    public PrivilegeFilter privilege() {
+        if (privilege == null) {
+            setPrivilege(new PrivilegeFilter());
+        }
+        return privilege;
+    }
+
+    public void setPrivilege(PrivilegeFilter privilege) {
+        this.privilege = privilege;
+    }
+
+    public LongFilter getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public Optional<LongFilter> optionalWorkspaceId() {
+        return Optional.ofNullable(workspaceId);
+    }
+
+    public LongFilter workspaceId() {
+        if (workspaceId == null) {
+            setWorkspaceId(new LongFilter());
+        }
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(LongFilter workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public LongFilter getUserId() {
+        return userId;
+    }
+
+    public Optional<LongFilter> optionalUserId() {
+        return Optional.ofNullable(userId);
+    }
+
+    public LongFilter userId() {
+        if (userId == null) {
+            setUserId(new LongFilter());
+        }
+        return userId;
+    }
+
+    public void setUserId(LongFilter userId) {
+        this.userId = userId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final TaskCriteria that = (TaskCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(title, that.title) &&
+            Objects.equals(description, that.description) &&
+            Objects.equals(dueDate, that.dueDate) &&
+            Objects.equals(priority, that.priority) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(category, that.category) &&
+            Objects.equals(createdAt, that.createdAt) &&
+            Objects.equals(updatedAt, that.updatedAt) &&
+            Objects.equals(privilege, that.privilege) &&
+            Objects.equals(workspaceId, that.workspaceId) &&
+            Objects.equals(userId, that.userId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            id,
+            title,
+            description,
+            dueDate,
+            priority,
+            status,
+            category,
+            createdAt,
+            updatedAt,
+            privilege,
+            workspaceId,
+            userId,
+            distinct
+        );
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalTitle().map(f -> "title=" + f + ", ").orElse("") +
+            optionalDescription().map(f -> "description=" + f + ", ").orElse("") +
+            optionalDueDate().map(f -> "dueDate=" + f + ", ").orElse("") +
+            optionalPriority().map(f -> "priority=" + f + ", ").orElse("") +
+            optionalStatus().map(f -> "status=" + f + ", ").orElse("") +
+            optionalCategory().map(f -> "category=" + f + ", ").orElse("") +
+            optionalCreatedAt().map(f -> "createdAt=" + f + ", ").orElse("") +
+            optionalUpdatedAt().map(f -> "updatedAt=" + f + ", ").orElse("") +
+            optionalPrivilege().map(f -> "privilege=" + f + ", ").orElse("") +
+            optionalWorkspaceId().map(f -> "workspaceId=" + f + ", ").orElse("") +
+            optionalUserId().map(f -> "userId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
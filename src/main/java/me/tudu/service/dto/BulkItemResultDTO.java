@@ -0,0 +1,73 @@
+package me.tudu.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of one item of a bulk request.
+ */
+public class BulkItemResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int index;
+
+    private Long id;
+
+    private int status;
+
+    private String message;
+
+    public BulkItemResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkItemResultDTO(int index, Long id, int status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + getIndex() +
+            ", id=" + getId() +
+            ", status=" + getStatus() +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
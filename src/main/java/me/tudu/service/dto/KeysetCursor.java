@@ -0,0 +1,110 @@
+package me.tudu.service.dto;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import org.springframework.data.domain.Sort;
+
+/**
+ * An opaque cursor for keyset pagination.
+ * <p>
+ * It carries the sort property and direction of the listing, together with the sort key and id of the last row of the
+ * previous page, so the next page can seek past that row instead of skipping an offset.
+ */
+public class KeysetCursor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String SEPARATOR = "|";
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final Long id;
+
+    private final String value;
+
+    public KeysetCursor(String property, Sort.Direction direction, Long id, String value) {
+        this.property = Objects.requireNonNull(property);
+        this.direction = Objects.requireNonNull(direction);
+        this.id = Objects.requireNonNull(id);
+        this.value = value;
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static KeysetCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\" + SEPARATOR, 4);
+        if (parts.length < 3 || parts[0].isEmpty()) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        return new KeysetCursor(parts[0], Sort.Direction.fromString(parts[1]), Long.valueOf(parts[2]), parts.length == 4 ? parts[3] : null);
+    }
+
+    /**
+     * Encode this cursor as an URL-safe opaque string.
+     *
+     * @return the encoded cursor.
+     */
+    public String encode() {
+        StringBuilder raw = new StringBuilder(property).append(SEPARATOR).append(direction.name()).append(SEPARATOR).append(id);
+        if (value != null) {
+            raw.append(SEPARATOR).append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KeysetCursor)) {
+            return false;
+        }
+        KeysetCursor that = (KeysetCursor) o;
+        return (
+            property.equals(that.property) && direction == that.direction && id.equals(that.id) && Objects.equals(value, that.value)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(property, direction, id, value);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+            "property='" + getProperty() + "'" +
+            ", direction='" + getDirection() + "'" +
+            ", id=" + getId() +
+            ", value='" + getValue() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,40 @@
+package me.tudu.service.dto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A page of a keyset-paginated listing: its content and, when more rows follow, the cursor of the next page.
+ * <p>
+ * Unlike a {@link org.springframework.data.domain.Page}, it never carries a total count.
+ *
+ * @param <T> the type of the content.
+ */
+public class KeysetSlice<T> {
+
+    private final List<T> content;
+
+    private final KeysetCursor nextCursor;
+
+    public KeysetSlice(List<T> content, KeysetCursor nextCursor) {
+        this.content = List.copyOf(content);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Optional<KeysetCursor> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetSlice<>(content.stream().<U>map(converter).toList(), nextCursor);
+    }
+}
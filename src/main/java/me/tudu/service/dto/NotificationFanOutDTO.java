@@ -0,0 +1,45 @@
+package me.tudu.service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+
+/**
+ * A DTO representing a notification sent to all the members of a workspace.
+ */
+public class NotificationFanOutDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    private Long workspaceId;
+
+    @NotNull
+    @Size(max = 255)
+    private String message;
+
+    public Long getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(Long workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NotificationFanOutDTO{" +
+            "workspaceId=" + getWorkspaceId() +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
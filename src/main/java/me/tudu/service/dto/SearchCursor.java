@@ -0,0 +1,144 @@
+package me.tudu.service.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.domain.Sort;
+
+/**
+ * An opaque cursor for the deep pagination of a search.
+ * <p>
+ * It carries the point in time the search reads, the order of its hits, and the sort values of the last hit of the
+ * previous page, so the next page can seek past that hit with {@code search_after} instead of skipping an offset.
+ */
+public class SearchCursor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String pointInTimeId;
+
+    private final Sort sort;
+
+    private final List<Object> searchAfter;
+
+    public SearchCursor(String pointInTimeId, Sort sort, List<Object> searchAfter) {
+        this.pointInTimeId = Objects.requireNonNull(pointInTimeId);
+        this.sort = Objects.requireNonNull(sort);
+        // The sort values of a hit are null where it has no value to sort on
+        this.searchAfter = Collections.unmodifiableList(new ArrayList<>(searchAfter));
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static SearchCursor decode(String cursor) {
+        JsonNode root;
+        try {
+            root = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(cursor));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+        if (root == null || !root.path("pit").isTextual() || !root.path("sort").isArray() || !root.path("after").isArray()) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (JsonNode order : root.get("sort")) {
+            String[] parts = order.asText().split(",");
+            if (parts.length != 2 || parts[0].isEmpty()) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+            orders.add(new Sort.Order(Sort.Direction.fromString(parts[1]), parts[0]));
+        }
+        List<Object> searchAfter = new ArrayList<>();
+        for (JsonNode value : root.get("after")) {
+            searchAfter.add(toSortValue(value, cursor));
+        }
+        return new SearchCursor(root.get("pit").asText(), Sort.by(orders), searchAfter);
+    }
+
+    private static Object toSortValue(JsonNode value, String cursor) {
+        if (value.isNull()) {
+            return null;
+        } else if (value.isIntegralNumber()) {
+            return value.longValue();
+        } else if (value.isNumber()) {
+            return value.doubleValue();
+        } else if (value.isTextual()) {
+            return value.textValue();
+        } else if (value.isBoolean()) {
+            return value.booleanValue();
+        }
+        throw new IllegalArgumentException("Malformed cursor: " + cursor);
+    }
+
+    /**
+     * Encode this cursor as an URL-safe opaque string.
+     *
+     * @return the encoded cursor.
+     */
+    public String encode() {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode().put("pit", pointInTimeId);
+        ArrayNode orders = root.putArray("sort");
+        sort.forEach(order -> orders.add(order.getProperty() + "," + order.getDirection().name()));
+        root.set("after", OBJECT_MAPPER.valueToTree(searchAfter));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(root));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String getPointInTimeId() {
+        return pointInTimeId;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public List<Object> getSearchAfter() {
+        return searchAfter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchCursor)) {
+            return false;
+        }
+        SearchCursor that = (SearchCursor) o;
+        return pointInTimeId.equals(that.pointInTimeId) && sort.equals(that.sort) && searchAfter.equals(that.searchAfter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pointInTimeId, sort, searchAfter);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchCursor{" +
+            "pointInTimeId='" + getPointInTimeId() + "'" +
+            ", sort='" + getSort() + "'" +
+            ", searchAfter='" + getSearchAfter() + "'" +
+            "}";
+    }
+}
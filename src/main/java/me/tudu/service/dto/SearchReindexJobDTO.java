@@ -0,0 +1,97 @@
+package me.tudu.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import me.tudu.domain.enumeration.SearchReindexStatus;
+
+/**
+ * A DTO representing the state and progress of a full reindex of the search indices.
+ */
+public class SearchReindexJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private SearchReindexStatus status;
+
+    private long documentsIndexed;
+
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    private Instant finishedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public SearchReindexStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SearchReindexStatus status) {
+        this.status = status;
+    }
+
+    public long getDocumentsIndexed() {
+        return documentsIndexed;
+    }
+
+    public void setDocumentsIndexed(long documentsIndexed) {
+        this.documentsIndexed = documentsIndexed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchReindexJobDTO{" +
+            "id='" + getId() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", documentsIndexed=" + getDocumentsIndexed() +
+            ", error='" + getError() + "'" +
+            ", createdAt='" + getCreatedAt() + "'" +
+            ", updatedAt='" + getUpdatedAt() + "'" +
+            ", finishedAt='" + getFinishedAt() + "'" +
+            "}";
+    }
+}
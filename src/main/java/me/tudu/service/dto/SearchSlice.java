@@ -0,0 +1,41 @@
+package me.tudu.service.dto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A page of a search paginated with {@code search_after}: its hits and, when more hits follow, the cursor of the next
+ * page.
+ * <p>
+ * Like a {@link KeysetSlice}, it never carries a total count.
+ *
+ * @param <T> the type of the content.
+ */
+public class SearchSlice<T> {
+
+    private final List<T> content;
+
+    private final SearchCursor nextCursor;
+
+    public SearchSlice(List<T> content, SearchCursor nextCursor) {
+        this.content = List.copyOf(content);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Optional<SearchCursor> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <U> SearchSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new SearchSlice<>(content.stream().<U>map(converter).toList(), nextCursor);
+    }
+}
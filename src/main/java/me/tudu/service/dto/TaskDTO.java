@@ -37,6 +37,8 @@ public class TaskDTO implements Serializable {
 
     private Privilege privilege;
 
+    private Long version;
+
     private WorkspaceDTO workspace;
 
     private Set<UserDTO> users = new HashSet<>();
@@ -121,6 +123,14 @@ public class TaskDTO implements Serializable {
         this.privilege = privilege;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public WorkspaceDTO getWorkspace() {
         return workspace;
     }
@@ -172,6 +182,7 @@ public class TaskDTO implements Serializable {
             ", createdAt='" + getCreatedAt() + "'" +
             ", updatedAt='" + getUpdatedAt() + "'" +
             ", privilege='" + getPrivilege() + "'" +
+            ", version=" + getVersion() +
             ", workspace=" + getWorkspace() +
             ", users=" + getUsers() +
             "}";
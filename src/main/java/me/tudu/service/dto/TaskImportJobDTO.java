@@ -0,0 +1,131 @@
+package me.tudu.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import me.tudu.domain.enumeration.TaskImportStatus;
+
+/**
+ * A DTO representing the state and progress of a bulk task import.
+ */
+public class TaskImportJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private String format;
+
+    private TaskImportStatus status;
+
+    private long rowsRead;
+
+    private long rowsRejected;
+
+    private long rowsImported;
+
+    private long rowsIndexed;
+
+    private List<String> errors = new ArrayList<>();
+
+    private Instant createdAt;
+
+    private Instant finishedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public TaskImportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskImportStatus status) {
+        this.status = status;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsIndexed() {
+        return rowsIndexed;
+    }
+
+    public void setRowsIndexed(long rowsIndexed) {
+        this.rowsIndexed = rowsIndexed;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskImportJobDTO{" +
+            "id='" + getId() + "'" +
+            ", format='" + getFormat() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", rowsRead=" + getRowsRead() +
+            ", rowsRejected=" + getRowsRejected() +
+            ", rowsImported=" + getRowsImported() +
+            ", rowsIndexed=" + getRowsIndexed() +
+            ", createdAt='" + getCreatedAt() + "'" +
+            ", finishedAt='" + getFinishedAt() + "'" +
+            "}";
+    }
+}
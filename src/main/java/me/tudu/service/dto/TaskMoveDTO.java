@@ -0,0 +1,81 @@
+package me.tudu.service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing a bulk move of tasks to another workspace, and/or their reassignment to another user.
+ */
+public class TaskMoveDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    private List<Long> taskIds = new ArrayList<>();
+
+    private Long workspaceId;
+
+    private Long fromUserId;
+
+    private Long toUserId;
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    /**
+     * The workspace to move the tasks to.
+     *
+     * @return the id of the workspace, or {@code null} to leave the tasks in their workspace.
+     */
+    public Long getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(Long workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    /**
+     * The user to unassign from the tasks.
+     *
+     * @return the id of the user, or {@code null} to unassign all the users of the tasks.
+     */
+    public Long getFromUserId() {
+        return fromUserId;
+    }
+
+    public void setFromUserId(Long fromUserId) {
+        this.fromUserId = fromUserId;
+    }
+
+    /**
+     * The user to assign the tasks to, in place of {@link #getFromUserId()}.
+     *
+     * @return the id of the user, or {@code null} to leave the users of the tasks unchanged.
+     */
+    public Long getToUserId() {
+        return toUserId;
+    }
+
+    public void setToUserId(Long toUserId) {
+        this.toUserId = toUserId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskMoveDTO{" +
+            "taskIds=" + getTaskIds().size() +
+            ", workspaceId=" + getWorkspaceId() +
+            ", fromUserId=" + getFromUserId() +
+            ", toUserId=" + getToUserId() +
+            "}";
+    }
+}
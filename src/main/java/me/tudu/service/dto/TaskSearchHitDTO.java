@@ -0,0 +1,160 @@
+package me.tudu.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import me.tudu.domain.enumeration.Priority;
+import me.tudu.domain.enumeration.Privilege;
+import me.tudu.domain.enumeration.Status;
+
+/**
+ * A DTO representing a task found by a search, read from the search index only: only the fields requested are set, and
+ * the others are left out of its JSON. The highlights are the fragments of the title and of the description matching the
+ * query, by field.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskSearchHitDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private Instant dueDate;
+
+    private Priority priority;
+
+    private Status status;
+
+    private String category;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    private Privilege privilege;
+
+    private Long workspaceId;
+
+    private Map<String, List<String>> highlights;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Instant getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(Instant dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Privilege getPrivilege() {
+        return privilege;
+    }
+
+    public void setPrivilege(Privilege privilege) {
+        this.privilege = privilege;
+    }
+
+    public Long getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(Long workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public Map<String, List<String>> getHighlights() {
+        return highlights;
+    }
+
+    public void setHighlights(Map<String, List<String>> highlights) {
+        this.highlights = highlights;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskSearchHitDTO{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", dueDate='" + getDueDate() + "'" +
+            ", priority='" + getPriority() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", category='" + getCategory() + "'" +
+            ", createdAt='" + getCreatedAt() + "'" +
+            ", updatedAt='" + getUpdatedAt() + "'" +
+            ", privilege='" + getPrivilege() + "'" +
+            ", workspaceId=" + getWorkspaceId() +
+            ", highlights='" + getHighlights() + "'" +
+            "}";
+    }
+}
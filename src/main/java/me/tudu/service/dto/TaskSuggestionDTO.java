@@ -0,0 +1,40 @@
+package me.tudu.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a task suggested while its title is typed: only its id and its title.
+ */
+public class TaskSuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String title;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskSuggestionDTO{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,40 @@
+package me.tudu.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a workspace suggested while its name is typed: only its id and its name.
+ */
+public class WorkspaceSuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String name;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "WorkspaceSuggestionDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,108 @@
+package me.tudu.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import me.tudu.domain.enumeration.Priority;
+import me.tudu.domain.enumeration.Status;
+
+/**
+ * A DTO representing a workspace with its members and the counts of its tasks.
+ */
+public class WorkspaceSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private WorkspaceDTO workspace;
+
+    private Set<Long> memberIds = new HashSet<>();
+
+    private long taskCount;
+
+    private long overdueTaskCount;
+
+    private Map<Status, Long> taskCountByStatus = new EnumMap<>(Status.class);
+
+    private Map<Priority, Long> taskCountByPriority = new EnumMap<>(Priority.class);
+
+    private Instant nextDueDate;
+
+    public WorkspaceDTO getWorkspace() {
+        return workspace;
+    }
+
+    public void setWorkspace(WorkspaceDTO workspace) {
+        this.workspace = workspace;
+    }
+
+    public Set<Long> getMemberIds() {
+        return memberIds;
+    }
+
+    public void setMemberIds(Set<Long> memberIds) {
+        this.memberIds = memberIds;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public long getOverdueTaskCount() {
+        return overdueTaskCount;
+    }
+
+    public void setOverdueTaskCount(long overdueTaskCount) {
+        this.overdueTaskCount = overdueTaskCount;
+    }
+
+    public Map<Status, Long> getTaskCountByStatus() {
+        return taskCountByStatus;
+    }
+
+    public void setTaskCountByStatus(Map<Status, Long> taskCountByStatus) {
+        this.taskCountByStatus = taskCountByStatus;
+    }
+
+    public Map<Priority, Long> getTaskCountByPriority() {
+        return taskCountByPriority;
+    }
+
+    public void setTaskCountByPriority(Map<Priority, Long> taskCountByPriority) {
+        this.taskCountByPriority = taskCountByPriority;
+    }
+
+    /**
+     * The earliest due date of the tasks that are not completed nor overdue yet: the overdue task count is only valid
+     * until then.
+     *
+     * @return the next due date, or {@code null} if there is none.
+     */
+    public Instant getNextDueDate() {
+        return nextDueDate;
+    }
+
+    public void setNextDueDate(Instant nextDueDate) {
+        this.nextDueDate = nextDueDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "WorkspaceSummaryDTO{" +
+            "workspace=" + getWorkspace() +
+            ", memberIds=" + getMemberIds() +
+            ", taskCount=" + getTaskCount() +
+            ", overdueTaskCount=" + getOverdueTaskCount() +
+            ", taskCountByStatus=" + getTaskCountByStatus() +
+            ", taskCountByPriority=" + getTaskCountByPriority() +
+            ", nextDueDate='" + getNextDueDate() + "'" +
+            "}";
+    }
+}
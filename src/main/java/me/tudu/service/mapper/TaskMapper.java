@@ -1,11 +1,15 @@
 package me.tudu.service.mapper;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.stream.Collectors;
 import me.tudu.domain.Task;
 import me.tudu.domain.User;
 import me.tudu.domain.Workspace;
+import me.tudu.repository.TaskSummary;
 import me.tudu.service.dto.TaskDTO;
+import me.tudu.service.dto.TaskSearchHitDTO;
+import me.tudu.service.dto.TaskSuggestionDTO;
 import me.tudu.service.dto.UserDTO;
 import me.tudu.service.dto.WorkspaceDTO;
 import org.mapstruct.*;
@@ -20,13 +24,40 @@ public interface TaskMapper extends EntityMapper<TaskDTO, Task> {
     TaskDTO toDto(Task s);
 
     @Mapping(target = "removeUser", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Task toEntity(TaskDTO taskDTO);
 
+    @Mapping(target = "workspace", source = "workspaceId", qualifiedByName = "workspaceFromId")
+    @Mapping(target = "users", ignore = true)
+    TaskDTO summaryToDto(TaskSummary summary);
+
+    TaskSuggestionDTO toSuggestionDto(Task task);
+
+    @Mapping(target = "workspaceId", source = "workspace.id")
+    @Mapping(target = "highlights", ignore = true)
+    TaskSearchHitDTO toSearchHitDto(Task task);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "removeUser", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Task entity, TaskDTO dto);
+
     @Named("workspaceId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
     WorkspaceDTO toDtoWorkspaceId(Workspace workspace);
 
+    @Named("workspaceFromId")
+    default WorkspaceDTO toDtoWorkspaceFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        WorkspaceDTO workspaceDTO = new WorkspaceDTO();
+        workspaceDTO.setId(id);
+        return workspaceDTO;
+    }
+
     @Named("userId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -36,4 +67,16 @@ public interface TaskMapper extends EntityMapper<TaskDTO, Task> {
     default Set<UserDTO> toDtoUserIdSet(Set<User> user) {
         return user.stream().map(this::toDtoUserId).collect(Collectors.toSet());
     }
+
+    @Named("userIdSetFromIds")
+    default Set<UserDTO> toDtoUserIdSetFromIds(Collection<Long> userIds) {
+        return userIds
+            .stream()
+            .map(id -> {
+                UserDTO userDTO = new UserDTO();
+                userDTO.setId(id);
+                return userDTO;
+            })
+            .collect(Collectors.toSet());
+    }
 }
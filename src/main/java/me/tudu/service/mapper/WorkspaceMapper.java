@@ -6,6 +6,7 @@ import me.tudu.domain.User;
 import me.tudu.domain.Workspace;
 import me.tudu.service.dto.UserDTO;
 import me.tudu.service.dto.WorkspaceDTO;
+import me.tudu.service.dto.WorkspaceSuggestionDTO;
 import org.mapstruct.*;
 
 /**
@@ -19,6 +20,8 @@ public interface WorkspaceMapper extends EntityMapper<WorkspaceDTO, Workspace> {
     @Mapping(target = "removeUser", ignore = true)
     Workspace toEntity(WorkspaceDTO workspaceDTO);
 
+    WorkspaceSuggestionDTO toSuggestionDto(Workspace workspace);
+
     @Named("userId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
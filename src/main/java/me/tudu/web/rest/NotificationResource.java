@@ -7,19 +7,31 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import me.tudu.domain.Notification;
+import me.tudu.domain.enumeration.Status;
 import me.tudu.repository.NotificationRepository;
+import me.tudu.service.CollectionVersionService;
 import me.tudu.service.NotificationService;
+import me.tudu.service.dto.KeysetCursor;
+import me.tudu.service.dto.KeysetSlice;
 import me.tudu.service.dto.NotificationDTO;
+import me.tudu.service.dto.NotificationFanOutDTO;
+import me.tudu.service.dto.SearchCursor;
+import me.tudu.service.dto.SearchSlice;
 import me.tudu.web.rest.errors.BadRequestAlertException;
 import me.tudu.web.rest.errors.ElasticsearchExceptionMapper;
+import me.tudu.web.util.ETagUtil;
+import me.tudu.web.util.KeysetPaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -43,9 +55,16 @@ public class NotificationResource {
 
     private final NotificationRepository notificationRepository;
 
-    public NotificationResource(NotificationService notificationService, NotificationRepository notificationRepository) {
+    private final CollectionVersionService collectionVersionService;
+
+    public NotificationResource(
+        NotificationService notificationService,
+        NotificationRepository notificationRepository,
+        CollectionVersionService collectionVersionService
+    ) {
         this.notificationService = notificationService;
         this.notificationRepository = notificationRepository;
+        this.collectionVersionService = collectionVersionService;
     }
 
     /**
@@ -68,6 +87,23 @@ public class NotificationResource {
             .body(notificationDTO);
     }
 
+    /**
+     * {@code POST  /notifications/_fan-out} : Send a notification to all the members of a workspace.
+     *
+     * @param notificationFanOutDTO the workspace and the message of the notifications.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of notifications created,
+     * or with status {@code 400 (Bad Request)} if the workspace does not exist.
+     */
+    @PostMapping("/_fan-out")
+    public ResponseEntity<Integer> fanOutNotification(@Valid @RequestBody NotificationFanOutDTO notificationFanOutDTO) {
+        LOG.debug("REST request to send a Notification to the members of a Workspace : {}", notificationFanOutDTO);
+        try {
+            return ResponseEntity.ok().body(notificationService.fanOut(notificationFanOutDTO));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fanoutinvalid");
+        }
+    }
+
     /**
      * {@code PUT  /notifications/:id} : Updates an existing notification.
      *
@@ -141,27 +177,104 @@ public class NotificationResource {
      * {@code GET  /notifications} : get all the notifications.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of notifications in body.
+     * @param ifNoneMatch the entity tags of the pages the client has, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of notifications in body,
+     * or with status {@code 304 (Not Modified)} if the page matches {@code If-None-Match}.
      */
     @GetMapping("")
-    public ResponseEntity<List<NotificationDTO>> getAllNotifications(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<NotificationDTO>> getAllNotifications(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         LOG.debug("REST request to get a page of Notifications");
+        String eTag = ETagUtil.fromStamp(collectionVersionService.current(Notification.class));
+        if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         Page<NotificationDTO> page = notificationService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().eTag(eTag).headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /notifications/inbox} : get the notifications of the current user, newest first.
+     * <p>
+     * Pages are read by keyset pagination on the creation date and the id: the link to the next page is returned in the
+     * {@code Link} header and no total count is computed.
+     *
+     * @param pageable the page size.
+     * @param status the status of the notifications, if they are filtered by status.
+     * @param cursor the keyset pagination cursor, if this is not the first page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of notifications in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<List<NotificationDTO>> getMyNotifications(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "status", required = false) Status status,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor
+    ) {
+        LOG.debug("REST request to get a keyset page of the Notifications of the current user : {}, {}", status, cursor);
+        KeysetSlice<NotificationDTO> slice;
+        try {
+            KeysetCursor keysetCursor = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+            slice = notificationService.findInboxOfCurrentUser(pageable.getPageSize(), keysetCursor, status);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /notifications/unread-count} : count the unread notifications of the current user.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<Long> countUnreadNotifications() {
+        LOG.debug("REST request to count the unread Notifications of the current user");
+        return ResponseEntity.ok().body(notificationService.countUnreadOfCurrentUser());
+    }
+
+    /**
+     * {@code POST  /notifications/_mark-all-read} : Mark all the notifications of the current user as read.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of notifications marked as read.
+     */
+    @PostMapping("/_mark-all-read")
+    public ResponseEntity<Integer> markAllNotificationsRead() {
+        LOG.debug("REST request to mark all the Notifications of the current user as read");
+        return ResponseEntity.ok().body(notificationService.markAllReadOfCurrentUser());
     }
 
     /**
      * {@code GET  /notifications/:id} : get the "id" notification.
+     * <p>
+     * The entity tag of a notification is derived from its own state, so a write to another notification does not change it.
      *
      * @param id the id of the notificationDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the notificationDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the notification the client has, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the notificationDTO,
+     * or with status {@code 304 (Not Modified)} if the notification matches {@code If-None-Match},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<NotificationDTO> getNotification(@PathVariable("id") Long id) {
+    public ResponseEntity<NotificationDTO> getNotification(
+        @PathVariable("id") Long id,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         LOG.debug("REST request to get Notification : {}", id);
         Optional<NotificationDTO> notificationDTO = notificationService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(notificationDTO);
+        return notificationDTO
+            .map(dto -> {
+                String eTag = eTag(dto);
+                if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                    return ETagUtil.<NotificationDTO>notModified(eTag);
+                }
+                return ResponseEntity.ok().eTag(eTag).body(dto);
+            })
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -182,16 +295,24 @@ public class NotificationResource {
     /**
      * {@code SEARCH  /notifications/_search?query=:query} : search for the notification corresponding
      * to the query.
+     * <p>
+     * With a {@code cursor} parameter, empty for the first page, the pages are read by {@code search_after} instead of
+     * by offset: the link to the next page is returned in the {@code Link} header and no total count is computed.
      *
      * @param query the query of the notification search.
+     * @param cursor the search pagination cursor, if the search is paginated by cursor.
      * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search")
     public ResponseEntity<List<NotificationDTO>> searchNotifications(
         @RequestParam("query") String query,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
+        if (cursor != null) {
+            return searchNotificationsByCursor(query, cursor, pageable);
+        }
         LOG.debug("REST request to search for a page of Notifications for query {}", query);
         try {
             Page<NotificationDTO> page = notificationService.search(query, pageable);
@@ -201,4 +322,31 @@ public class NotificationResource {
             throw ElasticsearchExceptionMapper.mapException(e);
         }
     }
+
+    private ResponseEntity<List<NotificationDTO>> searchNotificationsByCursor(String query, String cursor, Pageable pageable) {
+        LOG.debug("REST request to search for a cursor page of Notifications for query {} : {}", query, cursor);
+        SearchCursor searchCursor;
+        try {
+            searchCursor = cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        try {
+            SearchSlice<NotificationDTO> slice = notificationService.search(query, pageable, searchCursor);
+            HttpHeaders headers = KeysetPaginationUtil.generateSearchHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+    }
+
+    private static String eTag(NotificationDTO notificationDTO) {
+        return ETagUtil.fromState(
+            notificationDTO.getId(),
+            notificationDTO.getMessage(),
+            notificationDTO.getStatus(),
+            notificationDTO.getCreatedAt(),
+            notificationDTO.getUser() != null ? notificationDTO.getUser().getId() : null
+        );
+    }
 }
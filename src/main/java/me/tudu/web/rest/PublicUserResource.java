@@ -5,7 +5,11 @@ import java.util.Collections;
 import java.util.stream.StreamSupport;
 import me.tudu.repository.search.UserSearchRepository;
 import me.tudu.service.UserService;
+import me.tudu.service.dto.SearchCursor;
+import me.tudu.service.dto.SearchSlice;
 import me.tudu.service.dto.UserDTO;
+import me.tudu.web.rest.errors.ElasticsearchExceptionMapper;
+import me.tudu.web.util.KeysetPaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -26,6 +30,9 @@ public class PublicUserResource {
         Arrays.asList("id", "login", "firstName", "lastName", "email", "activated", "langKey")
     );
 
+    // The text fields of the users are not sortable in their search index
+    private static final List<String> ALLOWED_SEARCH_ORDERED_PROPERTIES = List.of("id");
+
     private static final Logger LOG = LoggerFactory.getLogger(PublicUserResource.class);
 
     private final UserService userService;
@@ -60,12 +67,45 @@ public class PublicUserResource {
 
     /**
      * {@code SEARCH /users/_search/:query} : search for the User corresponding to the query.
+     * <p>
+     * With a {@code cursor} parameter, empty for the first page, all the users found are paginated by
+     * {@code search_after}: the link to the next page is returned in the {@code Link} header.
      *
      * @param query the query to search.
+     * @param cursor the search pagination cursor, if the search is paginated by cursor.
+     * @param pageable the page size and, for the first page, the order of the users, if the search is paginated by cursor.
      * @return the result of the search.
      */
     @GetMapping("/users/_search/{query}")
-    public List<UserDTO> search(@PathVariable("query") String query) {
-        return StreamSupport.stream(userSearchRepository.search(query).spliterator(), false).map(UserDTO::new).toList();
+    public ResponseEntity<List<UserDTO>> search(
+        @PathVariable("query") String query,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        if (cursor == null) {
+            return ResponseEntity.ok(
+                StreamSupport.stream(userSearchRepository.search(query).spliterator(), false).map(UserDTO::new).toList()
+            );
+        }
+        LOG.debug("REST request to search for a cursor page of Users for query {} : {}", query, cursor);
+        SearchCursor searchCursor;
+        try {
+            searchCursor = cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (
+            searchCursor == null &&
+            !pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_SEARCH_ORDERED_PROPERTIES::contains)
+        ) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            SearchSlice<UserDTO> slice = userService.searchPublicUsers(query, pageable, searchCursor);
+            HttpHeaders headers = KeysetPaginationUtil.generateSearchHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
     }
 }
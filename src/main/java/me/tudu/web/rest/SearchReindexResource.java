@@ -0,0 +1,70 @@
+package me.tudu.web.rest;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import me.tudu.security.AuthoritiesConstants;
+import me.tudu.service.SearchReindexService;
+import me.tudu.service.dto.SearchReindexJobDTO;
+import me.tudu.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for the full reindex of the search indices.
+ */
+@RestController
+@RequestMapping("/api/admin/search")
+public class SearchReindexResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchReindexResource.class);
+
+    private static final String ENTITY_NAME = "searchReindex";
+
+    private final SearchReindexService searchReindexService;
+
+    public SearchReindexResource(SearchReindexService searchReindexService) {
+        this.searchReindexService = searchReindexService;
+    }
+
+    /**
+     * {@code POST  /admin/search/_reindex} : rebuild the search indices from the database.
+     * <p>
+     * The indices are rebuilt in the background, and swapped in once complete, so the searches keep being served meanwhile;
+     * the progress of the reindex is followed through the returned job.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the reindex job,
+     * or with status {@code 400 (Bad Request)} if another reindex is running.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/_reindex")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<SearchReindexJobDTO> reindex() throws URISyntaxException {
+        LOG.debug("REST request to reindex the search indices");
+        SearchReindexJobDTO job = searchReindexService
+            .submit()
+            .orElseThrow(() -> new BadRequestAlertException("Another reindex is running", ENTITY_NAME, "reindexrunning"));
+        searchReindexService.run(job.getId());
+        return ResponseEntity.accepted().location(new URI("/api/admin/search/_reindex/" + job.getId())).body(job);
+    }
+
+    /**
+     * {@code GET  /admin/search/_reindex/:jobId} : get the "jobId" reindex.
+     *
+     * @param jobId the id of the reindex job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the reindex job, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/_reindex/{jobId}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<SearchReindexJobDTO> getSearchReindex(@PathVariable("jobId") String jobId) {
+        LOG.debug("REST request to get SearchReindexJob : {}", jobId);
+        return ResponseUtil.wrapOrNotFound(searchReindexService.findJob(jobId));
+    }
+}
@@ -1,25 +1,58 @@
 package me.tudu.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import me.tudu.repository.TaskRepository;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import me.tudu.domain.Task;
+import me.tudu.service.CollectionVersionService;
+import me.tudu.service.TaskImportService;
+import me.tudu.service.TaskQueryService;
 import me.tudu.service.TaskService;
+import me.tudu.service.criteria.TaskCriteria;
+import me.tudu.service.dto.BulkItemResultDTO;
+import me.tudu.service.dto.KeysetCursor;
+import me.tudu.service.dto.KeysetSlice;
+import me.tudu.service.dto.SearchCursor;
+import me.tudu.service.dto.SearchSlice;
 import me.tudu.service.dto.TaskDTO;
+import me.tudu.service.dto.TaskImportJobDTO;
+import me.tudu.service.dto.TaskMoveDTO;
+import me.tudu.service.dto.TaskSearchHitDTO;
+import me.tudu.service.dto.TaskSuggestionDTO;
 import me.tudu.web.rest.errors.BadRequestAlertException;
 import me.tudu.web.rest.errors.ElasticsearchExceptionMapper;
+import me.tudu.web.rest.errors.PreconditionFailedException;
+import me.tudu.web.util.ETagUtil;
+import me.tudu.web.util.KeysetPaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -36,16 +69,38 @@ public class TaskResource {
 
     private static final String ENTITY_NAME = "task";
 
+    private static final int BULK_MAX_ITEMS = 10_000;
+
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final String CSV_HEADER =
+        "id,title,description,dueDate,priority,status,category,createdAt,updatedAt,privilege,version,workspaceId,userIds";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final TaskService taskService;
 
-    private final TaskRepository taskRepository;
+    private final TaskQueryService taskQueryService;
+
+    private final TaskImportService taskImportService;
 
-    public TaskResource(TaskService taskService, TaskRepository taskRepository) {
+    private final ObjectMapper objectMapper;
+
+    private final CollectionVersionService collectionVersionService;
+
+    public TaskResource(
+        TaskService taskService,
+        TaskQueryService taskQueryService,
+        TaskImportService taskImportService,
+        ObjectMapper objectMapper,
+        CollectionVersionService collectionVersionService
+    ) {
         this.taskService = taskService;
-        this.taskRepository = taskRepository;
+        this.taskQueryService = taskQueryService;
+        this.taskImportService = taskImportService;
+        this.objectMapper = objectMapper;
+        this.collectionVersionService = collectionVersionService;
     }
 
     /**
@@ -63,24 +118,85 @@ public class TaskResource {
         }
         taskDTO = taskService.save(taskDTO);
         return ResponseEntity.created(new URI("/api/tasks/" + taskDTO.getId()))
+            .eTag(ETagUtil.fromVersion(taskDTO.getVersion()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, taskDTO.getId().toString()))
             .body(taskDTO);
     }
 
+    /**
+     * {@code POST  /tasks/_bulk} : Create new tasks in bulk.
+     *
+     * @param taskDTOs the taskDTOs to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each taskDTO,
+     * or with status {@code 400 (Bad Request)} if there are too many taskDTOs.
+     */
+    @PostMapping("/_bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> createTasks(@NotNull @RequestBody List<TaskDTO> taskDTOs) {
+        LOG.debug("REST request to save {} Tasks in bulk", taskDTOs.size());
+        checkBulkSize(taskDTOs);
+        return ResponseEntity.ok().body(taskService.saveAll(taskDTOs));
+    }
+
+    /**
+     * {@code PUT  /tasks/_bulk} : Updates existing tasks in bulk.
+     *
+     * @param taskDTOs the taskDTOs to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each taskDTO,
+     * or with status {@code 400 (Bad Request)} if there are too many taskDTOs.
+     */
+    @PutMapping("/_bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> updateTasks(@NotNull @RequestBody List<TaskDTO> taskDTOs) {
+        LOG.debug("REST request to update {} Tasks in bulk", taskDTOs.size());
+        checkBulkSize(taskDTOs);
+        return ResponseEntity.ok().body(taskService.updateAll(taskDTOs));
+    }
+
+    /**
+     * {@code POST  /tasks/_move} : Move tasks to another workspace and/or reassign them to another user, in bulk.
+     *
+     * @param taskMoveDTO the ids of the tasks, and where to move them.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each task id,
+     * or with status {@code 400 (Bad Request)} if there are too many task ids, or if the workspace or user to move to is not valid.
+     */
+    @PostMapping("/_move")
+    public ResponseEntity<List<BulkItemResultDTO>> moveTasks(@Valid @RequestBody TaskMoveDTO taskMoveDTO) {
+        LOG.debug("REST request to move Tasks in bulk : {}", taskMoveDTO);
+        checkBulkSize(taskMoveDTO.getTaskIds());
+        try {
+            return ResponseEntity.ok().body(taskService.moveAll(taskMoveDTO));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "moveinvalid");
+        }
+    }
+
+    private void checkBulkSize(List<?> items) {
+        if (items.size() > BULK_MAX_ITEMS) {
+            throw new BadRequestAlertException(
+                "A bulk request cannot have more than " + BULK_MAX_ITEMS + " items",
+                ENTITY_NAME,
+                "bulktoolarge"
+            );
+        }
+    }
+
     /**
      * {@code PUT  /tasks/:id} : Updates an existing task.
      *
      * @param id the id of the taskDTO to save.
      * @param taskDTO the taskDTO to update.
+     * @param ifMatch the entity tag of the version the update applies to, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated taskDTO,
      * or with status {@code 400 (Bad Request)} if the taskDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the task was concurrently updated,
+     * or with status {@code 412 (Precondition Failed)} if the task does not match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the taskDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<TaskDTO> updateTask(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody TaskDTO taskDTO
+        @Valid @RequestBody TaskDTO taskDTO,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         LOG.debug("REST request to update Task : {}, {}", id, taskDTO);
         if (taskDTO.getId() == null) {
@@ -90,14 +206,14 @@ public class TaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!taskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        taskDTO = taskService.update(taskDTO);
+        Long expectedVersion = ETagUtil.versionFromIfMatch(ifMatch);
+        TaskDTO result = withPrecondition(ifMatch, () -> taskService.update(taskDTO, expectedVersion)).orElseThrow(() ->
+            new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+        );
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, taskDTO.getId().toString()))
-            .body(taskDTO);
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
     }
 
     /**
@@ -105,16 +221,19 @@ public class TaskResource {
      *
      * @param id the id of the taskDTO to save.
      * @param taskDTO the taskDTO to update.
+     * @param ifMatch the entity tag of the version the update applies to, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated taskDTO,
-     * or with status {@code 400 (Bad Request)} if the taskDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the taskDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the taskDTO is not valid or is not found,
+     * or with status {@code 409 (Conflict)} if the task was concurrently updated,
+     * or with status {@code 412 (Precondition Failed)} if the task does not match {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the taskDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<TaskDTO> partialUpdateTask(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody TaskDTO taskDTO
+        @NotNull @RequestBody TaskDTO taskDTO,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Task partially : {}, {}", id, taskDTO);
         if (taskDTO.getId() == null) {
@@ -124,52 +243,282 @@ public class TaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!taskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<TaskDTO> result = taskService.partialUpdate(taskDTO);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, taskDTO.getId().toString())
+        Long expectedVersion = ETagUtil.versionFromIfMatch(ifMatch);
+        TaskDTO result = withPrecondition(ifMatch, () -> taskService.partialUpdate(taskDTO, expectedVersion)).orElseThrow(() ->
+            new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
         );
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    private <T> T withPrecondition(String ifMatch, Supplier<T> update) {
+        try {
+            return update.get();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            if (ifMatch != null) {
+                throw new PreconditionFailedException(ENTITY_NAME);
+            }
+            throw e;
+        }
     }
 
     /**
      * {@code GET  /tasks} : get all the tasks.
+     * <p>
+     * Pages are read by offset by default. When the {@code cursor} parameter is present (empty for the first page), pages are
+     * read by keyset pagination instead: the link to the next page is returned in the {@code Link} header and no total count
+     * is computed.
+     * <p>
+     * Both can be filtered by criteria, such as {@code workspaceId.equals=1&status.in=PENDING,IN_PROGRESS}. Filtered offset
+     * pages always include the users.
+     * <p>
+     * The entity tag of a page is the version stamp of all the tasks, so a page is answered with {@code 304 (Not Modified)}
+     * without reading the database until any task is written.
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tasks in body.
+     * @param cursor the keyset pagination cursor.
+     * @param criteria the criteria which the requested entities should match.
+     * @param ifNoneMatch the entity tags of the pages the client has, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tasks in body,
+     * or with status {@code 304 (Not Modified)} if the page matches {@code If-None-Match},
+     * or with status {@code 400 (Bad Request)} if the cursor or the keyset sort order is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<TaskDTO>> getAllTasks(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
+        TaskCriteria criteria,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        LOG.debug("REST request to get a page of Tasks");
+        // Read before the tasks, so a task written meanwhile changes the entity tag of the next request
+        String eTag = ETagUtil.fromStamp(collectionVersionService.current(Task.class));
+        if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        if (cursor != null) {
+            return getAllTasksByKeyset(pageable, eagerload, cursor, criteria, eTag);
+        }
+        LOG.debug("REST request to get a page of Tasks by criteria: {}", criteria);
         Page<TaskDTO> page;
-        if (eagerload) {
+        if (!new TaskCriteria().equals(criteria)) {
+            page = taskQueryService.findByCriteria(criteria, pageable);
+        } else if (eagerload) {
             page = taskService.findAllWithEagerRelationships(pageable);
         } else {
             page = taskService.findAll(pageable);
         }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().eTag(eTag).headers(headers).body(page.getContent());
+    }
+
+    private ResponseEntity<List<TaskDTO>> getAllTasksByKeyset(
+        Pageable pageable,
+        boolean eagerload,
+        String cursor,
+        TaskCriteria criteria,
+        String eTag
+    ) {
+        LOG.debug("REST request to get a keyset page of Tasks : {}, criteria: {}", cursor, criteria);
+        KeysetSlice<TaskDTO> slice;
+        try {
+            KeysetCursor keysetCursor = cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+            slice = taskQueryService.findByCriteria(criteria, pageable, keysetCursor, eagerload);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+        return ResponseEntity.ok().eTag(eTag).headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /tasks/mine} : get the tasks assigned to the current user.
+     * <p>
+     * Pages are read by keyset pagination, in id order: the link to the next page is returned in the {@code Link} header
+     * and no total count is computed.
+     *
+     * @param pageable the page size and, for the first page, the direction of the order by id.
+     * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param cursor the keyset pagination cursor, if this is not the first page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tasks in body,
+     * or with status {@code 400 (Bad Request)} if the cursor or the sort order is not valid.
+     */
+    @GetMapping("/mine")
+    public ResponseEntity<List<TaskDTO>> getMyTasks(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor
+    ) {
+        LOG.debug("REST request to get a keyset page of the Tasks of the current user : {}", cursor);
+        KeysetSlice<TaskDTO> slice;
+        try {
+            KeysetCursor keysetCursor = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+            slice = taskService.findAllOfCurrentUser(pageable, keysetCursor, eagerload);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /tasks/count} : count all the tasks.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countTasks(TaskCriteria criteria) {
+        LOG.debug("REST request to count Tasks by criteria: {}", criteria);
+        return ResponseEntity.ok().body(taskQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /tasks/_export} : export all the tasks.
+     * <p>
+     * The tasks are written to the response as they are read from the database, as one JSON document per line or as CSV
+     * rows with the user ids separated by spaces.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the tasks in body,
+     * or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/_export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        LOG.debug("REST request to export Tasks as {}", format);
+        MediaType mediaType = switch (format) {
+            case "ndjson" -> MediaType.APPLICATION_NDJSON;
+            case "csv" -> CSV;
+            default -> throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "exportformatinvalid");
+        };
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (mediaType == CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            taskService.exportAll(taskDTO -> {
+                try {
+                    writer.write(mediaType == CSV ? toCsvRow(taskDTO) : objectMapper.writeValueAsString(taskDTO));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+            .contentType(mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("tasks." + format).build().toString())
+            .body(body);
+    }
+
+    private static String toCsvRow(TaskDTO taskDTO) {
+        return Stream.of(
+            taskDTO.getId(),
+            taskDTO.getTitle(),
+            taskDTO.getDescription(),
+            taskDTO.getDueDate(),
+            taskDTO.getPriority(),
+            taskDTO.getStatus(),
+            taskDTO.getCategory(),
+            taskDTO.getCreatedAt(),
+            taskDTO.getUpdatedAt(),
+            taskDTO.getPrivilege(),
+            taskDTO.getVersion(),
+            taskDTO.getWorkspace() != null ? taskDTO.getWorkspace().getId() : null,
+            taskDTO.getUsers().stream().map(user -> user.getId().toString()).sorted().collect(Collectors.joining(" "))
+        )
+            .map(TaskResource::toCsvField)
+            .collect(Collectors.joining(","));
+    }
+
+    private static String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String field = value.toString();
+        if (field.contains(",") || field.contains("\"") || field.contains("\n") || field.contains("\r")) {
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+        return field;
+    }
+
+    /**
+     * {@code POST  /tasks/_import} : import tasks in bulk.
+     * <p>
+     * The body, in a format of {@code GET /tasks/_export}, is imported in the background: every valid row creates a new
+     * task, and the progress of the import is followed through the returned job.
+     *
+     * @param format the import format, {@code ndjson} or {@code csv}.
+     * @param content the tasks to import.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the import job,
+     * or with status {@code 400 (Bad Request)} if the format is not supported.
+     * @throws IOException if the body cannot be read.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/_import")
+    public ResponseEntity<TaskImportJobDTO> importTasks(
+        @RequestParam(name = "format", defaultValue = "ndjson") String format,
+        InputStream content
+    ) throws IOException, URISyntaxException {
+        LOG.debug("REST request to import Tasks as {}", format);
+        if (!TaskImportService.FORMAT_NDJSON.equals(format) && !TaskImportService.FORMAT_CSV.equals(format)) {
+            throw new BadRequestAlertException("Unsupported import format", ENTITY_NAME, "importformatinvalid");
+        }
+        TaskImportJobDTO job = taskImportService.submit(format, content);
+        taskImportService.run(job.getId());
+        return ResponseEntity.accepted().location(new URI("/api/tasks/_import/" + job.getId())).body(job);
+    }
+
+    /**
+     * {@code GET  /tasks/_import/:jobId} : get the "jobId" task import.
+     *
+     * @param jobId the id of the import job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import job, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/_import/{jobId}")
+    public ResponseEntity<TaskImportJobDTO> getTaskImport(@PathVariable("jobId") String jobId) {
+        LOG.debug("REST request to get TaskImportJob : {}", jobId);
+        return ResponseUtil.wrapOrNotFound(taskImportService.findJob(jobId));
     }
 
     /**
      * {@code GET  /tasks/:id} : get the "id" task.
+     * <p>
+     * When {@code If-None-Match} is present, only the version of the task is read to check it.
      *
      * @param id the id of the taskDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the taskDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the task the client has, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the taskDTO,
+     * or with status {@code 304 (Not Modified)} if the task matches {@code If-None-Match} or {@code If-Modified-Since},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDTO> getTask(@PathVariable("id") Long id) {
+    public ResponseEntity<TaskDTO> getTask(
+        @PathVariable("id") Long id,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         LOG.debug("REST request to get Task : {}", id);
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = taskService.findVersion(id).map(ETagUtil::fromVersion);
+            if (eTag.isPresent() && ETagUtil.matchesIfNoneMatch(ifNoneMatch, eTag.get())) {
+                return ETagUtil.notModified(eTag.get());
+            }
+        }
         Optional<TaskDTO> taskDTO = taskService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(taskDTO);
+        return taskDTO
+            .map(dto -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(ETagUtil.fromVersion(dto.getVersion()));
+                if (dto.getUpdatedAt() != null) {
+                    response.lastModified(dto.getUpdatedAt());
+                }
+                return response.body(dto);
+            })
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -187,19 +536,50 @@ public class TaskResource {
             .build();
     }
 
+    /**
+     * {@code GET  /tasks/_suggest?query=:query} : suggest the tasks whose title starts with the words typed.
+     * <p>
+     * Meant to be called on every keystroke: only the id and the title of at most {@link TaskService#MAX_SUGGESTIONS} tasks
+     * are returned.
+     *
+     * @param query the beginning of the title.
+     * @param size the maximum number of tasks.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of suggested tasks in body.
+     */
+    @GetMapping("/_suggest")
+    public ResponseEntity<List<TaskSuggestionDTO>> suggestTasks(
+        @RequestParam("query") String query,
+        @RequestParam(name = "size", defaultValue = "" + TaskService.MAX_SUGGESTIONS) int size
+    ) {
+        LOG.debug("REST request to suggest Tasks for query {}", query);
+        try {
+            return ResponseEntity.ok(taskService.suggest(query, size));
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+    }
+
     /**
      * {@code SEARCH  /tasks/_search?query=:query} : search for the task corresponding
      * to the query.
+     * <p>
+     * With a {@code cursor} parameter, empty for the first page, the pages are read by {@code search_after} instead of
+     * by offset: the link to the next page is returned in the {@code Link} header and no total count is computed.
      *
      * @param query the query of the task search.
+     * @param cursor the search pagination cursor, if the search is paginated by cursor.
      * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search")
     public ResponseEntity<List<TaskDTO>> searchTasks(
         @RequestParam("query") String query,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
+        if (cursor != null) {
+            return searchTasksByCursor(query, cursor, pageable);
+        }
         LOG.debug("REST request to search for a page of Tasks for query {}", query);
         try {
             Page<TaskDTO> page = taskService.search(query, pageable);
@@ -209,4 +589,53 @@ public class TaskResource {
             throw ElasticsearchExceptionMapper.mapException(e);
         }
     }
+
+    private ResponseEntity<List<TaskDTO>> searchTasksByCursor(String query, String cursor, Pageable pageable) {
+        LOG.debug("REST request to search for a cursor page of Tasks for query {} : {}", query, cursor);
+        SearchCursor searchCursor;
+        try {
+            searchCursor = cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        try {
+            SearchSlice<TaskDTO> slice = taskService.search(query, pageable, searchCursor);
+            HttpHeaders headers = KeysetPaginationUtil.generateSearchHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+    }
+
+    /**
+     * {@code GET  /tasks/_search/hits?query=:query&fields=:fields} : search for the tasks corresponding to the query,
+     * served from the search index only.
+     * <p>
+     * Only the requested fields of the tasks are returned, with their id and the fragments of their title and
+     * description matching the query.
+     *
+     * @param query the query of the task search.
+     * @param fields the fields of the tasks to return, by default {@link TaskService#DEFAULT_SEARCH_FIELDS}.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tasks found in body,
+     * or with status {@code 400 (Bad Request)} if a field cannot be returned.
+     */
+    @GetMapping("/_search/hits")
+    public ResponseEntity<List<TaskSearchHitDTO>> searchTaskHits(
+        @RequestParam("query") String query,
+        @RequestParam(name = "fields", required = false) List<String> fields,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search for a page of Task hits for query {}", query);
+        Page<TaskSearchHitDTO> page;
+        try {
+            page = taskService.searchHits(query, fields != null ? fields : List.of(), pageable);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fieldinvalid");
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
 }
@@ -4,22 +4,35 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import me.tudu.domain.Workspace;
 import me.tudu.repository.WorkspaceRepository;
+import me.tudu.service.CollectionVersionService;
+import me.tudu.service.WorkspacePurgeService;
 import me.tudu.service.WorkspaceService;
+import me.tudu.service.dto.SearchCursor;
+import me.tudu.service.dto.SearchSlice;
+import me.tudu.service.dto.UserDTO;
 import me.tudu.service.dto.WorkspaceDTO;
+import me.tudu.service.dto.WorkspaceSuggestionDTO;
+import me.tudu.service.dto.WorkspaceSummaryDTO;
 import me.tudu.web.rest.errors.BadRequestAlertException;
 import me.tudu.web.rest.errors.ElasticsearchExceptionMapper;
+import me.tudu.web.util.ETagUtil;
+import me.tudu.web.util.KeysetPaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -43,9 +56,20 @@ public class WorkspaceResource {
 
     private final WorkspaceRepository workspaceRepository;
 
-    public WorkspaceResource(WorkspaceService workspaceService, WorkspaceRepository workspaceRepository) {
+    private final CollectionVersionService collectionVersionService;
+
+    private final WorkspacePurgeService workspacePurgeService;
+
+    public WorkspaceResource(
+        WorkspaceService workspaceService,
+        WorkspaceRepository workspaceRepository,
+        CollectionVersionService collectionVersionService,
+        WorkspacePurgeService workspacePurgeService
+    ) {
         this.workspaceService = workspaceService;
         this.workspaceRepository = workspaceRepository;
+        this.collectionVersionService = collectionVersionService;
+        this.workspacePurgeService = workspacePurgeService;
     }
 
     /**
@@ -141,14 +165,21 @@ public class WorkspaceResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of workspaces in body.
+     * @param ifNoneMatch the entity tags of the pages the client has, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of workspaces in body,
+     * or with status {@code 304 (Not Modified)} if the page matches {@code If-None-Match}.
      */
     @GetMapping("")
     public ResponseEntity<List<WorkspaceDTO>> getAllWorkspaces(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         LOG.debug("REST request to get a page of Workspaces");
+        String eTag = ETagUtil.fromStamp(collectionVersionService.current(Workspace.class));
+        if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         Page<WorkspaceDTO> page;
         if (eagerload) {
             page = workspaceService.findAllWithEagerRelationships(pageable);
@@ -156,20 +187,64 @@ public class WorkspaceResource {
             page = workspaceService.findAll(pageable);
         }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().eTag(eTag).headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /workspaces/mine} : get all the workspaces the current user is a member of.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of workspaces in body.
+     */
+    @GetMapping("/mine")
+    public ResponseEntity<List<WorkspaceDTO>> getMyWorkspaces() {
+        LOG.debug("REST request to get the Workspaces of the current user");
+        return ResponseEntity.ok().body(workspaceService.findAllOfCurrentUser());
     }
 
     /**
      * {@code GET  /workspaces/:id} : get the "id" workspace.
+     * <p>
+     * The entity tag of a workspace is derived from its own state, so a write to another workspace does not change it.
      *
      * @param id the id of the workspaceDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the workspaceDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the workspace the client has, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the workspaceDTO,
+     * or with status {@code 304 (Not Modified)} if the workspace matches {@code If-None-Match} or {@code If-Modified-Since},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<WorkspaceDTO> getWorkspace(@PathVariable("id") Long id) {
+    public ResponseEntity<WorkspaceDTO> getWorkspace(
+        @PathVariable("id") Long id,
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         LOG.debug("REST request to get Workspace : {}", id);
         Optional<WorkspaceDTO> workspaceDTO = workspaceService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(workspaceDTO);
+        return workspaceDTO
+            .map(dto -> {
+                String eTag = eTag(dto);
+                if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                    return ETagUtil.<WorkspaceDTO>notModified(eTag);
+                }
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+                if (dto.getUpdatedAt() != null) {
+                    response.lastModified(dto.getUpdatedAt());
+                }
+                return response.body(dto);
+            })
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * {@code GET  /workspaces/:id/summary} : get the summary of the "id" workspace.
+     *
+     * @param id the id of the workspace to summarize.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the workspace with its member ids and task counts,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<WorkspaceSummaryDTO> getWorkspaceSummary(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the summary of Workspace : {}", id);
+        return ResponseUtil.wrapOrNotFound(workspaceService.findSummary(id));
     }
 
     /**
@@ -187,19 +262,67 @@ public class WorkspaceResource {
             .build();
     }
 
+    /**
+     * {@code DELETE  /workspaces/:id/purge} : delete the "id" workspace together with its tasks.
+     *
+     * @param id the id of the workspace to purge.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)}.
+     */
+    @DeleteMapping("/{id}/purge")
+    public ResponseEntity<Void> purgeWorkspace(@PathVariable("id") Long id) {
+        LOG.debug("REST request to purge Workspace : {}", id);
+        if (!workspacePurgeService.purge(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.noContent()
+            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .build();
+    }
+
+    /**
+     * {@code GET  /workspaces/_suggest?query=:query} : suggest the workspaces whose name starts with the words typed.
+     * <p>
+     * Meant to be called on every keystroke: only the id and the name of at most {@link WorkspaceService#MAX_SUGGESTIONS} workspaces
+     * are returned.
+     *
+     * @param query the beginning of the name.
+     * @param size the maximum number of workspaces.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of suggested workspaces in body.
+     */
+    @GetMapping("/_suggest")
+    public ResponseEntity<List<WorkspaceSuggestionDTO>> suggestWorkspaces(
+        @RequestParam("query") String query,
+        @RequestParam(name = "size", defaultValue = "" + WorkspaceService.MAX_SUGGESTIONS) int size
+    ) {
+        LOG.debug("REST request to suggest Workspaces for query {}", query);
+        try {
+            return ResponseEntity.ok(workspaceService.suggest(query, size));
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+    }
+
     /**
      * {@code SEARCH  /workspaces/_search?query=:query} : search for the workspace corresponding
      * to the query.
+     * <p>
+     * With a {@code cursor} parameter, empty for the first page, the pages are read by {@code search_after} instead of
+     * by offset: the link to the next page is returned in the {@code Link} header and no total count is computed.
      *
      * @param query the query of the workspace search.
+     * @param cursor the search pagination cursor, if the search is paginated by cursor.
      * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search")
     public ResponseEntity<List<WorkspaceDTO>> searchWorkspaces(
         @RequestParam("query") String query,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
+        if (cursor != null) {
+            return searchWorkspacesByCursor(query, cursor, pageable);
+        }
         LOG.debug("REST request to search for a page of Workspaces for query {}", query);
         try {
             Page<WorkspaceDTO> page = workspaceService.search(query, pageable);
@@ -209,4 +332,39 @@ public class WorkspaceResource {
             throw ElasticsearchExceptionMapper.mapException(e);
         }
     }
+
+    private ResponseEntity<List<WorkspaceDTO>> searchWorkspacesByCursor(String query, String cursor, Pageable pageable) {
+        LOG.debug("REST request to search for a cursor page of Workspaces for query {} : {}", query, cursor);
+        SearchCursor searchCursor;
+        try {
+            searchCursor = cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        try {
+            SearchSlice<WorkspaceDTO> slice = workspaceService.search(query, pageable, searchCursor);
+            HttpHeaders headers = KeysetPaginationUtil.generateSearchHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+    }
+
+    private static String eTag(WorkspaceDTO workspaceDTO) {
+        List<Long> userIds = workspaceDTO
+            .getUsers()
+            .stream()
+            .map(UserDTO::getId)
+            .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+            .toList();
+        return ETagUtil.fromState(
+            workspaceDTO.getId(),
+            workspaceDTO.getName(),
+            workspaceDTO.getDescription(),
+            workspaceDTO.getCreatedAt(),
+            workspaceDTO.getUpdatedAt(),
+            workspaceDTO.getPrivilege(),
+            userIds
+        );
+    }
 }
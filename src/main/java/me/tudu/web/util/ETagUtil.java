@@ -0,0 +1,114 @@
+package me.tudu.web.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Utility class for entity tags derived from the optimistic locking version of an entity, from the state of an entity
+ * without version, or from the version stamp of a collection.
+ */
+public final class ETagUtil {
+
+    private static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtil() {}
+
+    /**
+     * Build the strong entity tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the quoted entity tag.
+     */
+    public static String fromVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Build the weak entity tag of a version stamp.
+     *
+     * @param stamp the version stamp of a collection.
+     * @return the weak entity tag.
+     */
+    public static String fromStamp(long stamp) {
+        return WEAK_PREFIX + "\"" + stamp + "\"";
+    }
+
+    /**
+     * Build the weak entity tag of the state of an entity, for entities without an optimistic locking version.
+     *
+     * @param values the values of the fields of the entity.
+     * @return the weak entity tag, a digest of the values.
+     */
+    public static String fromState(Object... values) {
+        String state = Arrays.stream(values).map(Objects::toString).collect(Collectors.joining("\u0000"));
+        return WEAK_PREFIX + "\"" + DigestUtils.md5DigestAsHex(state.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Check whether an {@code If-None-Match} header matches an entity tag, with the weak comparison of RFC 9110.
+     *
+     * @param ifNoneMatch the value of the {@code If-None-Match} header.
+     * @param eTag the current entity tag.
+     * @return {@code true} if the header is {@code *} or lists the entity tag, weak or strong.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        if (ANY.equals(ifNoneMatch.trim())) {
+            return true;
+        }
+        String opaqueTag = opaqueTag(eTag);
+        for (String tag : ifNoneMatch.split(",")) {
+            if (opaqueTag.equals(opaqueTag(tag.trim()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build a {@code 304 (Not Modified)} response.
+     *
+     * @param eTag the current entity tag.
+     * @param <T> the type of the response body.
+     * @return the response, without body.
+     */
+    public static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+    /**
+     * Read the version required by an {@code If-Match} header holding a single entity tag.
+     * <p>
+     * Weak or unparseable entity tags can never match a version, so they are reported as {@code -1}.
+     *
+     * @param ifMatch the value of the {@code If-Match} header.
+     * @return the required version, or {@code null} if the header is absent or {@code *}.
+     */
+    public static Long versionFromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package me.tudu.web.util;
+
+import me.tudu.service.dto.KeysetSlice;
+import me.tudu.service.dto.SearchSlice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset pagination.
+ * <p>
+ * The cursor of the next page is returned in a {@code Link} header, following the same format as
+ * {@link tech.jhipster.web.util.PaginationUtil}, but without the {@code X-Total-Count} header and its count query. The
+ * searches paginated with {@code search_after} return theirs the same way.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "cursor";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate keyset pagination headers for a {@link KeysetSlice} object.
+     *
+     * @param uriBuilder The URI builder of the current request.
+     * @param slice The page of the listing.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetSlice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        slice.getNextCursor().ifPresent(cursor -> addNextLink(headers, uriBuilder, cursor.encode()));
+        return headers;
+    }
+
+    /**
+     * Generate search pagination headers for a {@link SearchSlice} object.
+     *
+     * @param uriBuilder The URI builder of the current request.
+     * @param slice The page of the search.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateSearchHttpHeaders(UriComponentsBuilder uriBuilder, SearchSlice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        slice.getNextCursor().ifPresent(cursor -> addNextLink(headers, uriBuilder, cursor.encode()));
+        return headers;
+    }
+
+    private static void addNextLink(HttpHeaders headers, UriComponentsBuilder uriBuilder, String cursor) {
+        String next = uriBuilder
+            .replaceQueryParam(CURSOR_PARAMETER, cursor)
+            .replaceQueryParam("page")
+            .replaceQueryParam("sort")
+            .toUriString();
+        headers.add(HttpHeaders.LINK, String.format(HEADER_LINK_FORMAT, next, "next"));
+    }
+}
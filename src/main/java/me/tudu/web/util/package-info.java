@@ -0,0 +1,4 @@
+/**
+ * Utility classes for the web layer.
+ */
+package me.tudu.web.util;
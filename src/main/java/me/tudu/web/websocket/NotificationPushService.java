@@ -0,0 +1,88 @@
+package me.tudu.web.websocket;
+
+import me.tudu.service.NotificationCreatedEvent;
+import me.tudu.service.NotificationFanOutEvent;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes the notifications created to the STOMP sessions of their users, on {@code /user/queue/notifications}.
+ * <p>
+ * A notification is pushed only once its transaction is committed, so a client never receives a notification that is then
+ * rolled back. As the sessions of a user may be connected to any instance, while the simple broker only knows those of
+ * its own instance, the notification is relayed to every instance through a Redis topic, and each instance pushes it to
+ * its own sessions. The notifications sent to the members of a workspace are relayed as one message, that each instance
+ * expands into the notification of each member.
+ */
+@Component
+public class NotificationPushService {
+
+    /**
+     * The destination the users subscribe to, prefixed with {@code /user}.
+     */
+    public static final String DESTINATION = "/queue/notifications";
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationPushService.class);
+
+    private static final String PUSH_TOPIC = "notification:pushes";
+
+    private static final String FAN_OUT_TOPIC = "notification:fan-outs";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final RTopic pushTopic;
+
+    private final RTopic fanOutTopic;
+
+    public NotificationPushService(SimpMessageSendingOperations messagingTemplate, RedissonClient redissonClient) {
+        this.messagingTemplate = messagingTemplate;
+        this.pushTopic = redissonClient.getTopic(PUSH_TOPIC);
+        this.pushTopic.addListener(NotificationCreatedEvent.class, (channel, event) -> push(event));
+        this.fanOutTopic = redissonClient.getTopic(FAN_OUT_TOPIC);
+        this.fanOutTopic.addListener(NotificationFanOutEvent.class, (channel, event) -> push(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        LOG.debug("Relaying Notification {} to the instances for user {}", event.notification().getId(), event.login());
+        try {
+            pushTopic.publish(event);
+        } catch (RuntimeException e) {
+            // The sessions of this instance at least are reached, and the notification is still listed by /api/notifications
+            LOG.warn("Could not relay Notification {} to the other instances", event.notification().getId(), e);
+            push(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationFanOut(NotificationFanOutEvent event) {
+        LOG.debug("Relaying {} Notifications to the instances", event.recipients().size());
+        try {
+            fanOutTopic.publish(event);
+        } catch (RuntimeException e) {
+            // The sessions of this instance at least are reached, and the notifications are still listed by /api/notifications
+            LOG.warn("Could not relay {} Notifications to the other instances", event.recipients().size(), e);
+            push(event);
+        }
+    }
+
+    private void push(NotificationFanOutEvent event) {
+        event.toNotificationCreatedEvents().forEach(this::push);
+    }
+
+    private void push(NotificationCreatedEvent event) {
+        LOG.debug("Pushing Notification {} to user {}", event.notification().getId(), event.login());
+        try {
+            messagingTemplate.convertAndSendToUser(event.login(), DESTINATION, event.notification());
+        } catch (MessagingException e) {
+            // The notification is still listed by /api/notifications
+            LOG.warn("Could not push Notification {} to user {}", event.notification().getId(), event.login(), e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package me.tudu.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import me.tudu.IntegrationTest;
+import me.tudu.domain.Notification;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.repository.NotificationPartitionRepository;
+import me.tudu.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link NotificationPartitionService}.
+ */
+@IntegrationTest
+@Transactional
+class NotificationPartitionServiceIT {
+
+    @Autowired
+    private NotificationPartitionService notificationPartitionService;
+
+    @Autowired
+    private NotificationPartitionRepository notificationPartitionRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void maintainPartitions() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Notification recent = new Notification().message("Recent").status(Status.PENDING).createdAt(now);
+        Notification expired = new Notification()
+            .message("Expired")
+            .status(Status.PENDING)
+            .createdAt(now.minus(Duration.ofDays(800)));
+        em.persist(recent);
+        em.persist(expired);
+        em.flush();
+
+        notificationPartitionService.maintainPartitions(now);
+
+        // The partitions cover the retention and the months ahead, and the expired notification is deleted
+        YearMonth month = YearMonth.from(now.atOffset(ZoneOffset.UTC));
+        assertThat(notificationPartitionRepository.findPartitions())
+            .contains(month, month.plusMonths(3))
+            .doesNotContain(month.minusMonths(13));
+        em.clear();
+        assertThat(notificationRepository.findById(recent.getId())).isPresent();
+        assertThat(notificationRepository.findById(expired.getId())).isEmpty();
+
+        // The partitions of the months past the retention are dropped
+        assertThat(notificationPartitionService.maintainPartitions(now.plus(Duration.ofDays(62)))).isPositive();
+        YearMonth firstMonth = YearMonth.from(now.minus(Duration.ofDays(365)).atOffset(ZoneOffset.UTC));
+        assertThat(notificationPartitionRepository.findPartitions()).doesNotContain(firstMonth);
+        assertThat(notificationRepository.findById(recent.getId())).isPresent();
+    }
+}
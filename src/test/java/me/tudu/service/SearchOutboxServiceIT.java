@@ -0,0 +1,172 @@
+package me.tudu.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import me.tudu.IntegrationTest;
+import me.tudu.config.ApplicationProperties;
+import me.tudu.domain.Workspace;
+import me.tudu.repository.SearchOutboxEntry;
+import me.tudu.repository.SearchOutboxRepository;
+import me.tudu.repository.WorkspaceRepository;
+import me.tudu.repository.search.SearchBulkRepository;
+import me.tudu.repository.search.WorkspaceSearchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link SearchOutboxService}.
+ */
+@IntegrationTest
+@Transactional
+class SearchOutboxServiceIT {
+
+    private static final String ENTITY_TYPE = "workspace";
+
+    @Autowired
+    private SearchOutboxService searchOutboxService;
+
+    @Autowired
+    private SearchOutboxRepository searchOutboxRepository;
+
+    @SpyBean
+    private SearchBulkRepository searchBulkRepository;
+
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
+    @Autowired
+    private WorkspaceSearchRepository workspaceSearchRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int batchSize;
+
+    private Workspace workspace;
+
+    @BeforeEach
+    void initTest() {
+        batchSize = applicationProperties.getSearchOutbox().getBatchSize();
+        // The entries left by other tests are drained first, so each test drains only its own
+        while (searchOutboxService.drain() > 0) {
+            // Drain the next batch
+        }
+        workspace = workspaceRepository.saveAndFlush(new Workspace().name("Outbox").createdAt(Instant.now()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        applicationProperties.getSearchOutbox().setBatchSize(batchSize);
+        workspaceSearchRepository.deleteById(workspace.getId());
+    }
+
+    @Test
+    void drainCoalescesTheEntriesOfAnEntity() {
+        double entries = entriesCount();
+        double indexed = documentsCount("index");
+        searchOutboxService.enqueue(Workspace.class, workspace.getId());
+        searchOutboxService.enqueue(Workspace.class, workspace.getId());
+        searchOutboxService.enqueue(Workspace.class, workspace.getId());
+
+        assertThat(searchOutboxService.drain()).isEqualTo(3);
+
+        // The three entries are drained into one document
+        assertThat(entriesCount() - entries).isEqualTo(3);
+        assertThat(documentsCount("index") - indexed).isEqualTo(1);
+        assertThat(workspaceSearchRepository.findById(workspace.getId())).hasValueSatisfying(document ->
+            assertThat(document.getName()).isEqualTo("Outbox")
+        );
+        assertThat(searchOutboxRepository.findFirst(batchSize)).isEmpty();
+    }
+
+    @Test
+    void drainDeletesTheDocumentOfADeletedEntity() {
+        searchOutboxService.enqueue(Workspace.class, workspace.getId());
+        searchOutboxService.drain();
+        assertThat(workspaceSearchRepository.findById(workspace.getId())).isPresent();
+
+        double deleted = documentsCount("delete");
+        workspaceRepository.delete(workspace);
+        workspaceRepository.flush();
+        searchOutboxService.enqueue(Workspace.class, workspace.getId());
+
+        assertThat(searchOutboxService.drain()).isEqualTo(1);
+
+        assertThat(documentsCount("delete") - deleted).isEqualTo(1);
+        assertThat(workspaceSearchRepository.findById(workspace.getId())).isEmpty();
+    }
+
+    @Test
+    void drainKeepsTheEntriesWhenTheBulkRequestFails() {
+        double entries = entriesCount();
+        searchOutboxService.enqueue(Workspace.class, workspace.getId());
+        doThrow(new DataAccessResourceFailureException("Bulk request failed")).when(searchBulkRepository).bulk(anyList());
+
+        assertThatThrownBy(() -> searchOutboxService.drain()).isInstanceOf(DataAccessResourceFailureException.class);
+
+        // The entry stays in the outbox, to be retried by the next drain
+        assertThat(searchOutboxRepository.findFirst(batchSize))
+            .extracting(SearchOutboxEntry::entityId)
+            .containsExactly(workspace.getId());
+        assertThat(entriesCount()).isEqualTo(entries);
+        assertThat(workspaceSearchRepository.findById(workspace.getId())).isEmpty();
+    }
+
+    @Test
+    void drainUpdatesTheLag() {
+        applicationProperties.getSearchOutbox().setBatchSize(1);
+        searchOutboxService.enqueue(Workspace.class, workspace.getId());
+        // An entry queued an hour ago, drained by the next batch
+        jdbcTemplate.update(
+            "insert into search_outbox (entity_type, entity_id, created_at) values (?, ?, ?)",
+            ENTITY_TYPE,
+            workspace.getId(),
+            LocalDateTime.ofInstant(Instant.now().minus(1, ChronoUnit.HOURS), ZoneOffset.UTC)
+        );
+
+        assertThat(searchOutboxService.drain()).isEqualTo(1);
+        assertThat(lagMillis()).isGreaterThanOrEqualTo(TimeUnit.HOURS.toMillis(1));
+
+        assertThat(searchOutboxService.drain()).isEqualTo(1);
+        assertThat(lagMillis()).isZero();
+    }
+
+    private double entriesCount() {
+        return meterRegistry.get(SearchOutboxService.ENTRIES_METER_NAME).counter().count();
+    }
+
+    private double documentsCount(String operation) {
+        Counter counter = meterRegistry
+            .find(SearchOutboxService.DOCUMENTS_METER_NAME)
+            .tag("entity", ENTITY_TYPE)
+            .tag("operation", operation)
+            .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private double lagMillis() {
+        return meterRegistry.get(SearchOutboxService.LAG_METER_NAME).timeGauge().value(TimeUnit.MILLISECONDS);
+    }
+}
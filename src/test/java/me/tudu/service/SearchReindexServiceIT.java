@@ -0,0 +1,104 @@
+package me.tudu.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import me.tudu.IntegrationTest;
+import me.tudu.domain.Workspace;
+import me.tudu.domain.enumeration.SearchReindexStatus;
+import me.tudu.repository.WorkspaceRepository;
+import me.tudu.repository.search.SearchBulkItem;
+import me.tudu.repository.search.SearchBulkRepository;
+import me.tudu.repository.search.WorkspaceSearchRepository;
+import me.tudu.service.dto.SearchReindexJobDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link SearchReindexService}.
+ */
+@IntegrationTest
+class SearchReindexServiceIT {
+
+    @Autowired
+    private SearchReindexService searchReindexService;
+
+    @Autowired
+    private SearchOutboxService searchOutboxService;
+
+    @SpyBean
+    private SearchBulkRepository searchBulkRepository;
+
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
+    @Autowired
+    private WorkspaceSearchRepository workspaceSearchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Workspace updated;
+
+    private Workspace deleted;
+
+    @BeforeEach
+    void initTest() {
+        updated = workspaceRepository.saveAndFlush(new Workspace().name("Read by the build").createdAt(Instant.now()));
+        deleted = workspaceRepository.saveAndFlush(new Workspace().name("Deleted").createdAt(Instant.now()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        workspaceRepository.findById(updated.getId()).ifPresent(workspaceRepository::delete);
+        workspaceRepository.findById(deleted.getId()).ifPresent(workspaceRepository::delete);
+        workspaceSearchRepository.deleteById(updated.getId());
+        workspaceSearchRepository.deleteById(deleted.getId());
+    }
+
+    @Test
+    void reindexKeepsTheWritesRacingTheBuild() {
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            List<SearchBulkItem> items = invocation.getArgument(1);
+            boolean readByTheBuild = items.stream().anyMatch(item -> updated.getId().equals(item.id()) && item.entity() != null);
+            if (readByTheBuild && raced.compareAndSet(false, true)) {
+                // The workspaces read by the build are updated and deleted, and drained, before its bulk request is sent
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    workspaceRepository.save(workspaceRepository.findById(updated.getId()).orElseThrow().name("Updated"));
+                    workspaceRepository.deleteById(deleted.getId());
+                    searchOutboxService.enqueueAll(Workspace.class, List.of(updated.getId(), deleted.getId()));
+                });
+                while (searchOutboxService.drain() > 0) {
+                    // Drain the next batch
+                }
+            }
+            return invocation.callRealMethod();
+        })
+            .when(searchBulkRepository)
+            .bulkCreate(anyString(), anyList());
+
+        SearchReindexJobDTO job = searchReindexService.submit().orElseThrow();
+        searchReindexService.run(job.getId());
+
+        assertThat(raced).isTrue();
+        assertThat(searchReindexService.findJob(job.getId())).hasValueSatisfying(finished ->
+            assertThat(finished.getStatus()).isEqualTo(SearchReindexStatus.COMPLETED)
+        );
+        // The stale document of the build does not overwrite the update, nor bring the deleted workspace back
+        assertThat(workspaceSearchRepository.findById(updated.getId())).hasValueSatisfying(workspace ->
+            assertThat(workspace.getName()).isEqualTo("Updated")
+        );
+        assertThat(workspaceSearchRepository.findById(deleted.getId())).isEmpty();
+    }
+}
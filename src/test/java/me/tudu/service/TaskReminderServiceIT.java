@@ -0,0 +1,84 @@
+package me.tudu.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import me.tudu.IntegrationTest;
+import me.tudu.domain.Notification;
+import me.tudu.domain.Task;
+import me.tudu.domain.User;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.repository.NotificationRepository;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link TaskReminderService}.
+ */
+@IntegrationTest
+@Transactional
+class TaskReminderServiceIT {
+
+    @Autowired
+    private TaskReminderService taskReminderService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private User user;
+
+    private Instant now;
+
+    @BeforeEach
+    public void initTest() {
+        user = new User();
+        user.setLogin("reminded_" + RandomStringUtils.randomAlphabetic(5).toLowerCase());
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        em.persist(user);
+        now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    void sendDueRemindersOncePerLeadTime() {
+        em.persist(createTask(Status.PENDING, now.plus(Duration.ofMinutes(30))));
+        em.persist(createTask(Status.PENDING, now.plus(Duration.ofHours(3))));
+        em.persist(createTask(Status.COMPLETED, now.plus(Duration.ofMinutes(30))));
+        em.flush();
+
+        taskReminderService.sendDueReminders(now);
+
+        // Both tasks are due within 24 hours, only the first one within 1 hour
+        List<Notification> notifications = findNotificationsOfUser();
+        assertThat(notifications).hasSize(3);
+        assertThat(notifications).allMatch(notification -> notification.getStatus() == Status.PENDING);
+        assertThat(notifications).allMatch(notification -> notification.getMessage().startsWith("Task \""));
+
+        // The ranges already covered are not read again
+        taskReminderService.sendDueReminders(now.plusSeconds(1));
+        assertThat(findNotificationsOfUser()).hasSize(3);
+    }
+
+    private Task createTask(Status status, Instant dueDate) {
+        return new Task().title("Reminded").status(status).dueDate(dueDate).addUser(user);
+    }
+
+    private List<Notification> findNotificationsOfUser() {
+        em.clear();
+        return notificationRepository
+            .findAll()
+            .stream()
+            .filter(notification -> notification.getUser() != null && user.getId().equals(notification.getUser().getId()))
+            .toList();
+    }
+}
@@ -15,7 +15,6 @@ import java.util.Optional;
 import me.tudu.IntegrationTest;
 import me.tudu.domain.User;
 import me.tudu.repository.UserRepository;
-import me.tudu.repository.search.UserSearchRepository;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,13 +57,8 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
-    /**
-     * This repository is mocked in the me.tudu.repository.search test package.
-     *
-     * @see me.tudu.repository.search.UserSearchRepositoryMockConfiguration
-     */
     @SpyBean
-    private UserSearchRepository spiedUserSearchRepository;
+    private SearchOutboxService spiedSearchOutboxService;
 
     @Autowired
     private AuditingHandler auditingHandler;
@@ -201,8 +195,8 @@ class UserServiceIT {
         users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
         assertThat(users).isEmpty();
 
-        // Verify Elasticsearch mock
-        verify(spiedUserSearchRepository, times(1)).deleteFromIndex(user);
+        // Verify the document of the user is queued for deletion
+        verify(spiedSearchOutboxService, times(1)).enqueue(User.class, user.getId());
     }
 
     @Test
@@ -221,7 +215,7 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
 
-        // Verify Elasticsearch mock
-        verify(spiedUserSearchRepository, never()).deleteFromIndex(user);
+        // Verify the document of the user is not queued
+        verify(spiedSearchOutboxService, never()).enqueue(User.class, user.getId());
     }
 }
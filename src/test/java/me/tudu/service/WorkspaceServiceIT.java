@@ -0,0 +1,77 @@
+package me.tudu.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import me.tudu.IntegrationTest;
+import me.tudu.domain.Workspace;
+import me.tudu.repository.TaskRepository;
+import me.tudu.repository.WorkspaceRepository;
+import me.tudu.service.dto.WorkspaceSummaryDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for {@link WorkspaceService}.
+ */
+@IntegrationTest
+class WorkspaceServiceIT {
+
+    @Autowired
+    private WorkspaceService workspaceService;
+
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
+    @SpyBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Workspace workspace;
+
+    @BeforeEach
+    void initTest() {
+        workspace = workspaceRepository.saveAndFlush(new Workspace().name("Summary").createdAt(Instant.now()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        workspaceService.evictSummary(workspace.getId());
+        workspaceRepository.deleteById(workspace.getId());
+    }
+
+    @Test
+    void summaryReadBeforeAnEvictionIsNotCached() {
+        doAnswer(invocation -> {
+            // A write of another thread commits and evicts the summary while it is computed
+            CompletableFuture.runAsync(() -> workspaceService.evictSummary(workspace.getId())).join();
+            return invocation.callRealMethod();
+        })
+            .when(taskRepository)
+            .countByWorkspace(anyLong(), any(), any());
+
+        assertThat(workspaceService.findSummary(workspace.getId())).isPresent();
+
+        // The summary read before the eviction is not left in the cache
+        assertThat(cacheManager.getCache(WorkspaceService.WORKSPACE_SUMMARY_CACHE).get(workspace.getId(), WorkspaceSummaryDTO.class))
+            .isNull();
+    }
+
+    @Test
+    void summaryIsCached() {
+        assertThat(workspaceService.findSummary(workspace.getId())).isPresent();
+
+        assertThat(cacheManager.getCache(WorkspaceService.WORKSPACE_SUMMARY_CACHE).get(workspace.getId(), WorkspaceSummaryDTO.class))
+            .isNotNull();
+    }
+}
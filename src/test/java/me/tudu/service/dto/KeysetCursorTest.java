@@ -0,0 +1,37 @@
+package me.tudu.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        KeysetCursor cursor = new KeysetCursor("title", Sort.Direction.DESC, 42L, "a|b");
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodeDecodeNullValue() {
+        KeysetCursor cursor = new KeysetCursor("dueDate", Sort.Direction.ASC, 7L, null);
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.getValue()).isNull();
+    }
+
+    @Test
+    void encodeDecodeEmptyValue() {
+        KeysetCursor cursor = new KeysetCursor("title", Sort.Direction.ASC, 7L, "");
+        assertThat(KeysetCursor.decode(cursor.encode()).getValue()).isEmpty();
+    }
+
+    @Test
+    void decodeMalformedCursor() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("aWR8QVND")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("aWR8VVB8MQ")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,51 @@
+package me.tudu.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class SearchCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        SearchCursor cursor = new SearchCursor(
+            "46ToAwMDaWR5BXV1aWQy",
+            Sort.by(Sort.Order.asc("dueDate"), Sort.Order.desc("priority")),
+            Arrays.asList(1735689600000L, "HIGH", 12L)
+        );
+        assertThat(SearchCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodeDecodeRelevanceOrder() {
+        SearchCursor cursor = new SearchCursor("46ToAwMDaWR5BXV1aWQy", Sort.unsorted(), Arrays.asList(1.25d, null, true, 3L));
+        SearchCursor decoded = SearchCursor.decode(cursor.encode());
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.getSort().isSorted()).isFalse();
+    }
+
+    @Test
+    void decodeMalformedCursor() {
+        assertThatThrownBy(() -> SearchCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(encode("{\"pit\":\"p\",\"sort\":[]}"))).isInstanceOf(
+            IllegalArgumentException.class
+        );
+        assertThatThrownBy(() -> SearchCursor.decode(encode("{\"pit\":\"p\",\"sort\":[\"title\"],\"after\":[]}"))).isInstanceOf(
+            IllegalArgumentException.class
+        );
+        assertThatThrownBy(() -> SearchCursor.decode(encode("{\"pit\":\"p\",\"sort\":[],\"after\":[{}]}"))).isInstanceOf(
+            IllegalArgumentException.class
+        );
+        assertThat(SearchCursor.decode(encode("{\"pit\":\"p\",\"sort\":[],\"after\":[1]}")).getSearchAfter()).isEqualTo(List.of(1L));
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
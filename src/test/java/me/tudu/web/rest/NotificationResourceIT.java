@@ -4,6 +4,7 @@ import static me.tudu.domain.NotificationAsserts.*;
 import static me.tudu.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -19,11 +20,17 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import me.tudu.IntegrationTest;
 import me.tudu.domain.Notification;
+import me.tudu.domain.User;
+import me.tudu.domain.Workspace;
 import me.tudu.domain.enumeration.Status;
 import me.tudu.repository.NotificationRepository;
 import me.tudu.repository.UserRepository;
+import me.tudu.repository.WorkspaceRepository;
 import me.tudu.repository.search.NotificationSearchRepository;
+import me.tudu.service.SearchOutboxService;
+import me.tudu.service.dto.KeysetCursor;
 import me.tudu.service.dto.NotificationDTO;
+import me.tudu.service.dto.NotificationFanOutDTO;
 import me.tudu.service.mapper.NotificationMapper;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
@@ -31,7 +38,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.util.Streamable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -70,12 +79,18 @@ class NotificationResourceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
     @Autowired
     private NotificationMapper notificationMapper;
 
     @Autowired
     private NotificationSearchRepository notificationSearchRepository;
 
+    @Autowired
+    private SearchOutboxService searchOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -142,6 +157,7 @@ class NotificationResourceIT {
         var returnedNotification = notificationMapper.toEntity(returnedNotificationDTO);
         assertNotificationUpdatableFieldsEquals(returnedNotification, getPersistedNotification(returnedNotification));
 
+        searchOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -228,6 +244,170 @@ class NotificationResourceIT {
             .andExpect(jsonPath("$.createdAt").value(DEFAULT_CREATED_AT.toString()));
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("unread-count-user")
+    void countUnreadNotifications() throws Exception {
+        // Initialize the database
+        User user = UserResourceIT.createEntity();
+        user.setLogin("unread-count-user");
+        user = userRepository.saveAndFlush(user);
+        insertedNotification = notificationRepository.saveAndFlush(notification.status(Status.PENDING).user(user));
+        Notification readNotification = notificationRepository.saveAndFlush(createEntity().status(Status.COMPLETED).user(user));
+
+        // Count the unread notifications of the user
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL + "/unread-count"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("1"));
+
+        notificationRepository.delete(readNotification);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("inbox-user")
+    void getMyNotifications() throws Exception {
+        // Initialize the database
+        User user = UserResourceIT.createEntity();
+        user.setLogin("inbox-user");
+        user = userRepository.saveAndFlush(user);
+        insertedNotification = notificationRepository.saveAndFlush(notification.status(Status.COMPLETED).user(user));
+        Notification newerNotification = notificationRepository.saveAndFlush(
+            createEntity().status(Status.PENDING).createdAt(UPDATED_CREATED_AT).user(user)
+        );
+        Notification otherNotification = notificationRepository.saveAndFlush(createEntity().createdAt(UPDATED_CREATED_AT));
+
+        // Get the first keyset page of the notifications of the user
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL + "/inbox?size=1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(newerNotification.getId().intValue()));
+
+        // Get the page after the newer notification
+        String cursor = new KeysetCursor(
+            "createdAt",
+            Sort.Direction.DESC,
+            newerNotification.getId(),
+            UPDATED_CREATED_AT.toString()
+        ).encode();
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL + "/inbox?cursor=" + cursor + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(notification.getId().intValue()));
+
+        // Filter the notifications by status
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL + "/inbox?status=COMPLETED"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(notification.getId().intValue()));
+
+        restNotificationMockMvc.perform(get(ENTITY_API_URL + "/inbox?cursor=invalid")).andExpect(status().isBadRequest());
+
+        notificationRepository.delete(otherNotification);
+        notificationRepository.delete(newerNotification);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("mark-all-read-user")
+    void markAllNotificationsRead() throws Exception {
+        // Initialize the database
+        User user = UserResourceIT.createEntity();
+        user.setLogin("mark-all-read-user");
+        user = userRepository.saveAndFlush(user);
+        insertedNotification = notificationRepository.saveAndFlush(notification.status(Status.PENDING).user(user));
+        Notification otherNotification = notificationRepository.saveAndFlush(createEntity().status(Status.PENDING));
+
+        // Mark all the notifications of the user as read
+        restNotificationMockMvc
+            .perform(post(ENTITY_API_URL + "/_mark-all-read"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("1"));
+
+        em.clear();
+        assertThat(notificationRepository.findById(insertedNotification.getId()).orElseThrow().getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(notificationRepository.findById(otherNotification.getId()).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+
+        notificationRepository.delete(otherNotification);
+    }
+
+    @Test
+    @Transactional
+    void fanOutNotification() throws Exception {
+        // Initialize the database
+        User member = userRepository.saveAndFlush(UserResourceIT.createEntity());
+        User otherMember = userRepository.saveAndFlush(UserResourceIT.createEntity());
+        Workspace workspace = workspaceRepository.saveAndFlush(
+            WorkspaceResourceIT.createEntity().addUser(member).addUser(otherMember)
+        );
+        long databaseSizeBeforeFanOut = getRepositoryCount();
+
+        NotificationFanOutDTO notificationFanOutDTO = new NotificationFanOutDTO();
+        notificationFanOutDTO.setWorkspaceId(workspace.getId());
+        notificationFanOutDTO.setMessage(DEFAULT_MESSAGE);
+
+        // Send the notification to the members of the workspace
+        restNotificationMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_fan-out")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(notificationFanOutDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().string("2"));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeFanOut + 2);
+        assertThat(notificationRepository.findAll())
+            .filteredOn(n -> DEFAULT_MESSAGE.equals(n.getMessage()) && n.getUser() != null)
+            .extracting(n -> n.getUser().getId())
+            .contains(member.getId(), otherMember.getId());
+
+        // A workspace that does not exist is rejected
+        notificationFanOutDTO.setWorkspaceId(Long.MAX_VALUE);
+        restNotificationMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_fan-out")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(notificationFanOutDTO))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getNotificationNotModified() throws Exception {
+        // Initialize the database
+        insertedNotification = notificationRepository.saveAndFlush(notification);
+
+        String eTag = restNotificationMockMvc
+            .perform(get(ENTITY_API_URL_ID, notification.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL_ID, notification.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // The entity tag is derived from the notification itself, so a write to it changes the tag
+        notificationRepository.saveAndFlush(notification.status(Status.COMPLETED));
+
+        restNotificationMockMvc
+            .perform(get(ENTITY_API_URL_ID, notification.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value(Status.COMPLETED.toString()));
+    }
+
     @Test
     @Transactional
     void getNonExistingNotification() throws Exception {
@@ -264,6 +444,7 @@ class NotificationResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertPersistedNotificationToMatchAllProperties(updatedNotification);
 
+        searchOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -496,6 +677,7 @@ class NotificationResourceIT {
 
         // Validate the database contains one less item
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
+        searchOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(notificationSearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
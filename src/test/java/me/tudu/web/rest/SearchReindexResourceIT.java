@@ -0,0 +1,99 @@
+package me.tudu.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.UUID;
+import me.tudu.IntegrationTest;
+import me.tudu.domain.Task;
+import me.tudu.domain.enumeration.SearchReindexStatus;
+import me.tudu.repository.SearchReindexJob;
+import me.tudu.repository.SearchReindexRepository;
+import me.tudu.repository.TaskRepository;
+import me.tudu.repository.search.TaskSearchRepository;
+import me.tudu.security.AuthoritiesConstants;
+import me.tudu.service.dto.SearchReindexJobDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link SearchReindexResource} REST controller.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+class SearchReindexResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/admin/search/_reindex";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchRepository taskSearchRepository;
+
+    @Autowired
+    private SearchReindexRepository searchReindexRepository;
+
+    @Autowired
+    private MockMvc restSearchReindexMockMvc;
+
+    @Test
+    @Transactional
+    void reindex() throws Exception {
+        // The task is only in the database, as the search outbox is not drained in tests
+        Task task = taskRepository.saveAndFlush(TaskResourceIT.createEntity());
+        assertThat(taskSearchRepository.findById(task.getId())).isEmpty();
+
+        // Reindex: the reindex runs synchronously in tests
+        SearchReindexJobDTO job = om.readValue(
+            restSearchReindexMockMvc
+                .perform(post(ENTITY_API_URL))
+                .andExpect(status().isAccepted())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            SearchReindexJobDTO.class
+        );
+
+        restSearchReindexMockMvc
+            .perform(get(ENTITY_API_URL + "/" + job.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.finishedAt").isNotEmpty());
+
+        assertThat(taskSearchRepository.findById(task.getId())).isPresent();
+        taskSearchRepository.deleteById(task.getId());
+    }
+
+    @Test
+    @Transactional
+    void reindexWhileRunning() throws Exception {
+        Instant now = Instant.now();
+        SearchReindexJob running = new SearchReindexJob(UUID.randomUUID().toString(), SearchReindexStatus.RUNNING, 0, null, now, now, null);
+        assertThat(searchReindexRepository.insertJobIfIdle(running, now.minusSeconds(60))).isTrue();
+
+        restSearchReindexMockMvc.perform(post(ENTITY_API_URL)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getNonExistingSearchReindex() throws Exception {
+        restSearchReindexMockMvc.perform(get(ENTITY_API_URL + "/" + UUID.randomUUID())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void reindexAsUser() throws Exception {
+        restSearchReindexMockMvc.perform(post(ENTITY_API_URL)).andExpect(status().isForbidden());
+    }
+}
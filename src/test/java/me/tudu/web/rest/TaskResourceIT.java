@@ -4,7 +4,9 @@ import static me.tudu.domain.TaskAsserts.*;
 import static me.tudu.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -20,14 +22,20 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import me.tudu.IntegrationTest;
 import me.tudu.domain.Task;
+import me.tudu.domain.User;
+import me.tudu.domain.Workspace;
 import me.tudu.domain.enumeration.Priority;
 import me.tudu.domain.enumeration.Privilege;
 import me.tudu.domain.enumeration.Status;
 import me.tudu.repository.TaskRepository;
 import me.tudu.repository.UserRepository;
 import me.tudu.repository.search.TaskSearchRepository;
+import me.tudu.service.SearchOutboxService;
 import me.tudu.service.TaskService;
+import me.tudu.service.dto.KeysetCursor;
 import me.tudu.service.dto.TaskDTO;
+import me.tudu.service.dto.TaskImportJobDTO;
+import me.tudu.service.dto.TaskMoveDTO;
 import me.tudu.service.mapper.TaskMapper;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
@@ -40,10 +48,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.util.Streamable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -85,6 +97,7 @@ class TaskResourceIT {
     private static final String ENTITY_API_URL = "/api/tasks";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
     private static final String ENTITY_SEARCH_API_URL = "/api/tasks/_search";
+    private static final String ENTITY_BULK_API_URL = "/api/tasks/_bulk";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -110,6 +123,9 @@ class TaskResourceIT {
     @Autowired
     private TaskSearchRepository taskSearchRepository;
 
+    @Autowired
+    private SearchOutboxService searchOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -194,6 +210,7 @@ class TaskResourceIT {
         var returnedTask = taskMapper.toEntity(returnedTaskDTO);
         assertTaskUpdatableFieldsEquals(returnedTask, getPersistedTask(returnedTask));
 
+        searchOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -204,6 +221,121 @@ class TaskResourceIT {
         insertedTask = returnedTask;
     }
 
+    @Test
+    @Transactional
+    void createTasksInBulk() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        TaskDTO invalidTaskDTO = taskMapper.toDto(createEntity().title(null));
+        TaskDTO existingIdTaskDTO = taskMapper.toDto(createEntity().id(1L));
+        List<TaskDTO> taskDTOs = List.of(taskMapper.toDto(task), invalidTaskDTO, existingIdTaskDTO, taskMapper.toDto(createEntity()));
+
+        restTaskMockMvc
+            .perform(post(ENTITY_BULK_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(taskDTOs)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$.[0].status").value(HttpStatus.CREATED.value()))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[1].status").value(HttpStatus.BAD_REQUEST.value()))
+            .andExpect(jsonPath("$.[2].status").value(HttpStatus.BAD_REQUEST.value()))
+            .andExpect(jsonPath("$.[2].message").value("error.idexists"))
+            .andExpect(jsonPath("$.[3].index").value(3))
+            .andExpect(jsonPath("$.[3].status").value(HttpStatus.CREATED.value()));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    @Transactional
+    void createTasksInBulkWithUnknownReferences() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        Workspace workspace = WorkspaceResourceIT.createEntity();
+        em.persist(workspace);
+        User unknownUser = new User();
+        unknownUser.setId(Long.MAX_VALUE);
+        TaskDTO unknownWorkspaceTaskDTO = taskMapper.toDto(createEntity().workspace(new Workspace().id(Long.MAX_VALUE)));
+        TaskDTO unknownUserTaskDTO = taskMapper.toDto(createEntity().addUser(unknownUser));
+        List<TaskDTO> taskDTOs = List.of(
+            taskMapper.toDto(task.workspace(workspace)),
+            unknownWorkspaceTaskDTO,
+            unknownUserTaskDTO,
+            taskMapper.toDto(createEntity())
+        );
+
+        restTaskMockMvc
+            .perform(post(ENTITY_BULK_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(taskDTOs)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$.[0].status").value(HttpStatus.CREATED.value()))
+            .andExpect(jsonPath("$.[1].status").value(HttpStatus.BAD_REQUEST.value()))
+            .andExpect(jsonPath("$.[1].message").value("Unknown workspace: " + Long.MAX_VALUE))
+            .andExpect(jsonPath("$.[2].status").value(HttpStatus.BAD_REQUEST.value()))
+            .andExpect(jsonPath("$.[2].message").value("Unknown user: " + Long.MAX_VALUE))
+            .andExpect(jsonPath("$.[3].status").value(HttpStatus.CREATED.value()));
+
+        // The unknown references reject their own task, not the whole chunk
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    @Transactional
+    void updateTasksInBulk() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+        long databaseSizeBeforeUpdate = getRepositoryCount();
+
+        Task updatedTask = taskRepository.findById(task.getId()).orElseThrow();
+        em.detach(updatedTask);
+        updatedTask.title(UPDATED_TITLE).status(UPDATED_STATUS);
+        TaskDTO nonExistingTaskDTO = taskMapper.toDto(createEntity().id(longCount.incrementAndGet()));
+        List<TaskDTO> taskDTOs = List.of(taskMapper.toDto(updatedTask), nonExistingTaskDTO);
+
+        restTaskMockMvc
+            .perform(put(ENTITY_BULK_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(taskDTOs)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(HttpStatus.OK.value()))
+            .andExpect(jsonPath("$.[0].id").value(task.getId().intValue()))
+            .andExpect(jsonPath("$.[1].status").value(HttpStatus.NOT_FOUND.value()));
+
+        assertSameRepositoryCount(databaseSizeBeforeUpdate);
+        assertThat(getPersistedTask(task).getTitle()).isEqualTo(UPDATED_TITLE);
+    }
+
+    @Test
+    @Transactional
+    void moveTasksInBulk() throws Exception {
+        // Initialize the database
+        Workspace workspace = WorkspaceResourceIT.createEntity();
+        em.persist(workspace);
+        User fromUser = userRepository.saveAndFlush(UserResourceIT.createEntity());
+        User toUser = userRepository.saveAndFlush(UserResourceIT.createEntity());
+        insertedTask = taskRepository.saveAndFlush(task.addUser(fromUser));
+        long version = task.getVersion();
+
+        TaskMoveDTO taskMoveDTO = new TaskMoveDTO();
+        taskMoveDTO.setTaskIds(List.of(task.getId(), longCount.incrementAndGet()));
+        taskMoveDTO.setWorkspaceId(workspace.getId());
+        taskMoveDTO.setFromUserId(fromUser.getId());
+        taskMoveDTO.setToUserId(toUser.getId());
+
+        restTaskMockMvc
+            .perform(post(ENTITY_API_URL + "/_move").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(taskMoveDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(HttpStatus.OK.value()))
+            .andExpect(jsonPath("$.[0].id").value(task.getId().intValue()))
+            .andExpect(jsonPath("$.[1].status").value(HttpStatus.NOT_FOUND.value()));
+
+        em.clear();
+        Task movedTask = taskRepository.findOneWithEagerRelationships(task.getId()).orElseThrow();
+        assertThat(movedTask.getWorkspace().getId()).isEqualTo(workspace.getId());
+        assertThat(movedTask.getUsers()).extracting(User::getId).containsExactly(toUser.getId());
+        assertThat(movedTask.getVersion()).isEqualTo(version + 1);
+
+        taskMoveDTO.setWorkspaceId(Long.MAX_VALUE);
+        restTaskMockMvc
+            .perform(post(ENTITY_API_URL + "/_move").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(taskMoveDTO)))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void createTaskWithExistingId() throws Exception {
@@ -269,6 +401,35 @@ class TaskResourceIT {
             .andExpect(jsonPath("$.[*].privilege").value(hasItem(DEFAULT_PRIVILEGE.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllTasksWithUserIds() throws Exception {
+        // Initialize the database
+        User user = userRepository.saveAndFlush(UserResourceIT.createEntity());
+        insertedTask = taskRepository.saveAndFlush(task.addUser(user));
+
+        // Get all the taskList, with the user ids read in one aggregated query
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&eagerload=true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == " + task.getId() + ")].users[*].id").value(hasItem(user.getId().intValue())))
+            .andExpect(jsonPath("$.[?(@.id == " + task.getId() + ")].version").value(hasItem(task.getVersion().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksWithoutEagerLoadWithUserIds() throws Exception {
+        // Initialize the database
+        User user = userRepository.saveAndFlush(UserResourceIT.createEntity());
+        insertedTask = taskRepository.saveAndFlush(task.addUser(user));
+
+        // Get all the taskList without eager load: the users still hold their ids
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&eagerload=false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == " + task.getId() + ")].users[*].id").value(hasItem(user.getId().intValue())));
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllTasksWithEagerRelationshipsIsEnabled() throws Exception {
         when(taskServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -286,6 +447,78 @@ class TaskResourceIT {
         verify(taskRepositoryMock, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    @Transactional
+    void getAllTasksByKeyset() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+        Task newerTask = taskRepository.saveAndFlush(createEntity());
+
+        // Get the first keyset page, ordered by id
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(newerTask.getId().intValue()));
+
+        // Get the page after the newer task
+        String cursor = new KeysetCursor("id", Sort.Direction.DESC, newerTask.getId(), newerTask.getId().toString()).encode();
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=" + cursor + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(task.getId().intValue()));
+
+        taskRepository.delete(newerTask);
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByKeysetWithInvalidCursor() throws Exception {
+        restTaskMockMvc.perform(get(ENTITY_API_URL + "?cursor=invalid")).andExpect(status().isBadRequest());
+        restTaskMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=category,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("my-tasks-user")
+    void getMyTasks() throws Exception {
+        // Initialize the database
+        User user = UserResourceIT.createEntity();
+        user.setLogin("my-tasks-user");
+        user = userRepository.saveAndFlush(user);
+        insertedTask = taskRepository.saveAndFlush(task.addUser(user));
+        Task newerTask = taskRepository.saveAndFlush(createEntity().addUser(user));
+        Task otherTask = taskRepository.saveAndFlush(createEntity());
+
+        // Get the first keyset page of the tasks of the user
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(newerTask.getId().intValue()))
+            .andExpect(jsonPath("$.[0].users.[0].id").value(user.getId().intValue()));
+
+        // Get the page after the newer task
+        String cursor = new KeysetCursor("id", Sort.Direction.DESC, newerTask.getId(), null).encode();
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/mine?cursor=" + cursor + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(task.getId().intValue()));
+
+        restTaskMockMvc.perform(get(ENTITY_API_URL + "/mine?sort=title,asc")).andExpect(status().isBadRequest());
+
+        taskRepository.delete(otherTask);
+        taskRepository.delete(newerTask);
+    }
+
     @Test
     @Transactional
     void getTask() throws Exception {
@@ -309,6 +542,238 @@ class TaskResourceIT {
             .andExpect(jsonPath("$.privilege").value(DEFAULT_PRIVILEGE.toString()));
     }
 
+    @Test
+    @Transactional
+    void getTaskNotModified() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        String eTag = restTaskMockMvc
+            .perform(get(ENTITY_API_URL_ID, task.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // A weak comparison matches the strong entity tag of the task
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL_ID, task.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\", W/" + eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL_ID, task.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(task.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksNotModified() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        String eTag = restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getTasksByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        Long id = task.getId();
+
+        defaultTaskFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultTaskFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultTaskFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByStatusIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        // Get all the taskList where status in
+        defaultTaskFiltering("status.in=" + DEFAULT_STATUS + "," + UPDATED_STATUS, "status.in=" + UPDATED_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByDueDateIsInRangeShouldWork() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        // Get all the taskList where dueDate is between the bounds
+        defaultTaskFiltering(
+            "dueDate.greaterThanOrEqual=" + DEFAULT_DUE_DATE + "&dueDate.lessThan=" + DEFAULT_DUE_DATE.plusSeconds(1),
+            "dueDate.greaterThan=" + DEFAULT_DUE_DATE
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByWorkspaceIsEqualToSomething() throws Exception {
+        Workspace workspace = WorkspaceResourceIT.createEntity();
+        em.persist(workspace);
+        em.flush();
+        task.setWorkspace(workspace);
+        insertedTask = taskRepository.saveAndFlush(task);
+        Long workspaceId = workspace.getId();
+        // Get all the taskList where workspace equals to workspaceId
+        defaultTaskShouldBeFound("workspaceId.equals=" + workspaceId + "&status.equals=" + DEFAULT_STATUS);
+
+        // Get all the taskList where workspace equals to (workspaceId + 1)
+        defaultTaskShouldNotBeFound("workspaceId.equals=" + (workspaceId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByCriteriaAndKeyset() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&status.equals=" + DEFAULT_STATUS))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(task.getId().intValue())));
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&id.equals=" + task.getId() + "&status.equals=" + UPDATED_STATUS))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void exportTasks() throws Exception {
+        // Initialize the database, committed so the streaming thread can read it
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        MvcResult ndjson = restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/_export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restTaskMockMvc
+            .perform(asyncDispatch(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(containsString("{\"id\":" + task.getId() + ",\"title\":\"" + DEFAULT_TITLE + "\"")));
+
+        MvcResult csv = restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/_export?format=csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restTaskMockMvc
+            .perform(asyncDispatch(csv))
+            .andExpect(status().isOk())
+            .andExpect(content().string(startsWith("id,title,")))
+            .andExpect(content().string(containsString("\n" + task.getId() + "," + DEFAULT_TITLE + ",")));
+    }
+
+    @Test
+    void exportTasksWithInvalidFormat() throws Exception {
+        restTaskMockMvc.perform(get(ENTITY_API_URL + "/_export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importTasks() throws Exception {
+        String title = "IMPORTED-" + longCount.incrementAndGet();
+        String csv =
+            "id,title,dueDate,status,userIds\n" + ",\"" + title + "\"," + DEFAULT_DUE_DATE + "," + DEFAULT_STATUS + ",\n" + ",,,,\n";
+
+        // Import the tasks: the import runs synchronously in tests
+        TaskImportJobDTO job = om.readValue(
+            restTaskMockMvc
+                .perform(post(ENTITY_API_URL + "/_import?format=csv").contentType("text/csv").content(csv))
+                .andExpect(status().isAccepted())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            TaskImportJobDTO.class
+        );
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/_import/" + job.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.rowsRead").value(2))
+            .andExpect(jsonPath("$.rowsRejected").value(1))
+            .andExpect(jsonPath("$.rowsImported").value(1))
+            .andExpect(jsonPath("$.errors[0]").value(containsString("line 3")));
+
+        List<Task> imported = taskRepository.findAll().stream().filter(t -> title.equals(t.getTitle())).toList();
+        taskRepository.deleteAll(imported);
+        taskSearchRepository.deleteAll(imported);
+        assertThat(imported).hasSize(1);
+        assertThat(imported.get(0).getDueDate()).isEqualTo(DEFAULT_DUE_DATE);
+        assertThat(imported.get(0).getStatus()).isEqualTo(DEFAULT_STATUS);
+    }
+
+    @Test
+    void getNonExistingTaskImport() throws Exception {
+        restTaskMockMvc.perform(get(ENTITY_API_URL + "/_import/" + Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private void defaultTaskFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultTaskShouldBeFound(shouldBeFound);
+        defaultTaskShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultTaskShouldBeFound(String filter) throws Exception {
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(task.getId().intValue())))
+            .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
+            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())));
+
+        // Check, that the count call also returns 1
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultTaskShouldNotBeFound(String filter) throws Exception {
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingTask() throws Exception {
@@ -350,6 +815,7 @@ class TaskResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertPersistedTaskToMatchAllProperties(updatedTask);
 
+        searchOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -362,6 +828,56 @@ class TaskResourceIT {
             });
     }
 
+    @Test
+    @Transactional
+    void putExistingTaskWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        String eTag = restTaskMockMvc
+            .perform(get(ENTITY_API_URL_ID, task.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        Task updatedTask = taskRepository.findById(task.getId()).orElseThrow();
+        em.detach(updatedTask);
+        updatedTask.title(UPDATED_TITLE);
+        TaskDTO taskDTO = taskMapper.toDto(updatedTask);
+        taskDTO.setVersion(null);
+
+        String updatedETag = restTaskMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, taskDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(taskDTO))
+            )
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotEqualTo(eTag);
+
+        // The previous entity tag is now stale
+        restTaskMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, taskDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(taskDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // So is the version it carried
+        taskDTO.setVersion(0L);
+        restTaskMockMvc
+            .perform(put(ENTITY_API_URL_ID, taskDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(taskDTO)))
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @Transactional
     void putNonExistingTask() throws Exception {
@@ -582,6 +1098,7 @@ class TaskResourceIT {
 
         // Validate the database contains one less item
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
+        searchOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(taskSearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
@@ -610,6 +1127,90 @@ class TaskResourceIT {
             .andExpect(jsonPath("$.[*].privilege").value(hasItem(DEFAULT_PRIVILEGE.toString())));
     }
 
+    @Test
+    @Transactional
+    void searchTaskByCursor() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+        Task otherTask = taskRepository.saveAndFlush(createEntity());
+        taskSearchRepository.save(task);
+        taskSearchRepository.save(otherTask);
+        String query = "?query=id:(" + task.getId() + " OR " + otherTask.getId() + ")";
+
+        // Search the first page, of one task
+        MvcResult firstPage = restTaskMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + query + "&cursor=&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andReturn();
+        String next = firstPage.getResponse().getHeader(HttpHeaders.LINK).replaceAll(".*[?&]cursor=([^&>]*).*", "$1");
+
+        // Search the last page, after the first task found
+        MvcResult lastPage = restTaskMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + query + "&cursor=" + next + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andReturn();
+        List<Long> ids = new ArrayList<>();
+        ids.add(om.readValue(firstPage.getResponse().getContentAsString(), TaskDTO[].class)[0].getId());
+        ids.add(om.readValue(lastPage.getResponse().getContentAsString(), TaskDTO[].class)[0].getId());
+        assertThat(ids).containsExactlyInAnyOrder(task.getId(), otherTask.getId());
+
+        taskSearchRepository.deleteById(otherTask.getId());
+        taskRepository.delete(otherTask);
+    }
+
+    @Test
+    void searchTaskByInvalidCursor() throws Exception {
+        restTaskMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?query=*&cursor=invalid")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void suggestTask() throws Exception {
+        // Initialize the database
+        task.setTitle("Quick find " + longCount.incrementAndGet());
+        insertedTask = taskRepository.saveAndFlush(task);
+        taskSearchRepository.save(task);
+
+        // Suggest the task from the beginning of its last word
+        String prefix = task.getTitle().substring(0, task.getTitle().length() - 2);
+        restTaskMockMvc
+            .perform(get("/api/tasks/_suggest?query=" + prefix))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(task.getId().intValue())))
+            .andExpect(jsonPath("$.[*].title").value(hasItem(task.getTitle())))
+            .andExpect(jsonPath("$.[*].description").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void searchTaskHits() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+        taskSearchRepository.save(task);
+
+        // Search the task, with only its title
+        restTaskMockMvc
+            .perform(get("/api/tasks/_search/hits?query=id:" + task.getId() + "&fields=title"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(task.getId().intValue())))
+            .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
+            .andExpect(jsonPath("$.[*].description").doesNotExist())
+            .andExpect(jsonPath("$.[*].status").doesNotExist());
+    }
+
+    @Test
+    void searchTaskHitsWithInvalidField() throws Exception {
+        restTaskMockMvc.perform(get("/api/tasks/_search/hits?query=*&fields=users")).andExpect(status().isBadRequest());
+    }
+
     protected long getRepositoryCount() {
         return taskRepository.count();
     }
@@ -5,6 +5,7 @@ import static me.tudu.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -19,11 +20,16 @@ import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import me.tudu.IntegrationTest;
+import me.tudu.domain.Task;
+import me.tudu.domain.User;
 import me.tudu.domain.Workspace;
+import me.tudu.domain.enumeration.Priority;
 import me.tudu.domain.enumeration.Privilege;
+import me.tudu.domain.enumeration.Status;
 import me.tudu.repository.UserRepository;
 import me.tudu.repository.WorkspaceRepository;
 import me.tudu.repository.search.WorkspaceSearchRepository;
+import me.tudu.service.SearchOutboxService;
 import me.tudu.service.WorkspaceService;
 import me.tudu.service.dto.WorkspaceDTO;
 import me.tudu.service.mapper.WorkspaceMapper;
@@ -39,6 +45,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Streamable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -96,6 +103,9 @@ class WorkspaceResourceIT {
     @Autowired
     private WorkspaceSearchRepository workspaceSearchRepository;
 
+    @Autowired
+    private SearchOutboxService searchOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -172,6 +182,7 @@ class WorkspaceResourceIT {
         var returnedWorkspace = workspaceMapper.toEntity(returnedWorkspaceDTO);
         assertWorkspaceUpdatableFieldsEquals(returnedWorkspace, getPersistedWorkspace(returnedWorkspace));
 
+        searchOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -279,6 +290,108 @@ class WorkspaceResourceIT {
             .andExpect(jsonPath("$.privilege").value(DEFAULT_PRIVILEGE.toString()));
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("my-workspaces-user")
+    void getMyWorkspaces() throws Exception {
+        // Initialize the database
+        User user = UserResourceIT.createEntity();
+        user.setLogin("my-workspaces-user");
+        user = userRepository.saveAndFlush(user);
+        insertedWorkspace = workspaceRepository.saveAndFlush(workspace.addUser(user));
+        Workspace otherWorkspace = workspaceRepository.saveAndFlush(createEntity());
+
+        // Get the workspaces of the user
+        restWorkspaceMockMvc
+            .perform(get(ENTITY_API_URL + "/mine"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(workspace.getId().intValue()));
+
+        workspaceRepository.delete(otherWorkspace);
+    }
+
+    @Test
+    @Transactional
+    void getWorkspaceSummary() throws Exception {
+        // Initialize the database
+        insertedWorkspace = workspaceRepository.saveAndFlush(workspace);
+        Instant now = Instant.now();
+        em.persist(createTask(Status.PENDING, Priority.HIGH, now.minus(1, ChronoUnit.DAYS)));
+        em.persist(createTask(Status.PENDING, Priority.LOW, now.plus(1, ChronoUnit.DAYS)));
+        em.persist(createTask(Status.COMPLETED, Priority.HIGH, now.minus(1, ChronoUnit.DAYS)));
+        em.flush();
+
+        // Get the summary of the workspace
+        restWorkspaceMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/summary", workspace.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.workspace.id").value(workspace.getId().intValue()))
+            .andExpect(jsonPath("$.memberIds").isEmpty())
+            .andExpect(jsonPath("$.taskCount").value(3))
+            .andExpect(jsonPath("$.overdueTaskCount").value(1))
+            .andExpect(jsonPath("$.taskCountByStatus.PENDING").value(2))
+            .andExpect(jsonPath("$.taskCountByStatus.COMPLETED").value(1))
+            .andExpect(jsonPath("$.taskCountByPriority.HIGH").value(2))
+            .andExpect(jsonPath("$.taskCountByPriority.LOW").value(1))
+            .andExpect(jsonPath("$.nextDueDate").isNotEmpty());
+    }
+
+    private Task createTask(Status status, Priority priority, Instant dueDate) {
+        return new Task().title("Summarized").status(status).priority(priority).dueDate(dueDate).workspace(workspace);
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingWorkspaceSummary() throws Exception {
+        restWorkspaceMockMvc.perform(get(ENTITY_API_URL_ID + "/summary", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getWorkspaceNotModified() throws Exception {
+        // Initialize the database
+        insertedWorkspace = workspaceRepository.saveAndFlush(workspace);
+
+        String eTag = restWorkspaceMockMvc
+            .perform(get(ENTITY_API_URL_ID, workspace.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restWorkspaceMockMvc
+            .perform(get(ENTITY_API_URL_ID, workspace.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getWorkspaceModifiedSinceItsEntityTag() throws Exception {
+        // Initialize the database
+        insertedWorkspace = workspaceRepository.saveAndFlush(workspace);
+
+        String eTag = restWorkspaceMockMvc
+            .perform(get(ENTITY_API_URL_ID, workspace.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The entity tag is derived from the workspace itself, so a write to it changes the tag
+        workspaceRepository.saveAndFlush(workspace.name(UPDATED_NAME));
+
+        restWorkspaceMockMvc
+            .perform(get(ENTITY_API_URL_ID, workspace.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME));
+    }
+
     @Test
     @Transactional
     void getNonExistingWorkspace() throws Exception {
@@ -320,6 +433,7 @@ class WorkspaceResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertPersistedWorkspaceToMatchAllProperties(updatedWorkspace);
 
+        searchOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -561,10 +675,40 @@ class WorkspaceResourceIT {
 
         // Validate the database contains one less item
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
+        searchOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(workspaceSearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
 
+    @Test
+    @Transactional
+    void purgeWorkspace() throws Exception {
+        // Initialize the database
+        User user = userRepository.saveAndFlush(UserResourceIT.createEntity());
+        workspaceRepository.saveAndFlush(workspace.addUser(user));
+        em.persist(createTask(Status.PENDING, Priority.HIGH, Instant.now()).addUser(user));
+        em.persist(createTask(Status.COMPLETED, Priority.LOW, Instant.now()));
+        em.flush();
+
+        long databaseSizeBeforeDelete = getRepositoryCount();
+
+        // Purge the workspace
+        restWorkspaceMockMvc
+            .perform(delete(ENTITY_API_URL_ID + "/purge", workspace.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNoContent());
+
+        // Validate the database contains neither the workspace nor its tasks
+        assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
+        assertThat(
+            em
+                .createQuery("select count(task) from Task task where task.workspace.id = :id", Long.class)
+                .setParameter("id", workspace.getId())
+                .getSingleResult()
+        ).isZero();
+
+        restWorkspaceMockMvc.perform(delete(ENTITY_API_URL_ID + "/purge", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void searchWorkspace() throws Exception {
@@ -585,6 +729,25 @@ class WorkspaceResourceIT {
             .andExpect(jsonPath("$.[*].privilege").value(hasItem(DEFAULT_PRIVILEGE.toString())));
     }
 
+    @Test
+    @Transactional
+    void suggestWorkspace() throws Exception {
+        // Initialize the database
+        workspace.setName("Quick find " + longCount.incrementAndGet());
+        insertedWorkspace = workspaceRepository.saveAndFlush(workspace);
+        workspaceSearchRepository.save(workspace);
+
+        // Suggest the workspace from the beginning of its last word
+        String prefix = workspace.getName().substring(0, workspace.getName().length() - 2);
+        restWorkspaceMockMvc
+            .perform(get("/api/workspaces/_suggest?query=" + prefix))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(workspace.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(workspace.getName())))
+            .andExpect(jsonPath("$.[*].description").doesNotExist());
+    }
+
     protected long getRepositoryCount() {
         return workspaceRepository.count();
     }
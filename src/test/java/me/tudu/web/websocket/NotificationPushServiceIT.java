@@ -0,0 +1,160 @@
+package me.tudu.web.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import me.tudu.IntegrationTest;
+import me.tudu.domain.User;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.repository.NotificationRepository;
+import me.tudu.repository.UserRepository;
+import me.tudu.security.AuthoritiesConstants;
+import me.tudu.service.NotificationService;
+import me.tudu.service.dto.NotificationDTO;
+import me.tudu.service.dto.UserDTO;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link NotificationPushService}.
+ */
+@IntegrationTest
+class NotificationPushServiceIT {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private AbstractSubscribableChannel brokerChannel;
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private MessageChannel clientInboundChannel;
+
+    private final List<Message<?>> brokerMessages = new CopyOnWriteArrayList<>();
+
+    private final ChannelInterceptor brokerRecorder = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            brokerMessages.add(message);
+            return message;
+        }
+    };
+
+    private User user;
+
+    private NotificationDTO notification;
+
+    @BeforeEach
+    void initTest() {
+        user = new User();
+        user.setLogin("push-user-" + RandomStringUtils.randomAlphabetic(5));
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user.setEmail(user.getLogin() + "@localhost");
+        user = userRepository.saveAndFlush(user);
+        brokerChannel.addInterceptor(brokerRecorder);
+    }
+
+    @AfterEach
+    void cleanup() {
+        brokerChannel.removeInterceptor(brokerRecorder);
+        if (notification != null) {
+            notificationRepository.deleteById(notification.getId());
+        }
+        userRepository.delete(user);
+    }
+
+    @Test
+    void pushNotificationAfterCommit() {
+        String destination = "/user/" + user.getLogin() + NotificationPushService.DESTINATION;
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(user.getId());
+        NotificationDTO notificationDTO = new NotificationDTO();
+        notificationDTO.setMessage("Pushed");
+        notificationDTO.setStatus(Status.PENDING);
+        notificationDTO.setUser(userDTO);
+
+        // Nothing is pushed before the commit
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            notification = notificationService.save(notificationDTO);
+            assertThat(messagesTo(destination)).isEmpty();
+        });
+
+        // The notification is pushed to the queue of its user once committed
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                assertThat(messagesTo(destination))
+                    .singleElement()
+                    .satisfies(message ->
+                        assertThat(new String((byte[]) message.getPayload(), StandardCharsets.UTF_8)).contains(
+                            "\"id\":" + notification.getId()
+                        )
+                    )
+            );
+    }
+
+    @Test
+    void subscribeToOwnNotifications() {
+        // The queue of the user of the session is resolved from /user/queue/notifications, and may be subscribed to
+        clientInboundChannel.send(subscribe("/user/queue/notifications"));
+    }
+
+    @Test
+    void subscribeToNotificationsOfAnotherUserIsDenied() {
+        assertThatThrownBy(() -> clientInboundChannel.send(subscribe("/user/" + user.getLogin() + "/queue/notifications")))
+            .hasRootCauseInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> clientInboundChannel.send(subscribe("/queue/notifications-user" + user.getLogin())))
+            .hasRootCauseInstanceOf(AccessDeniedException.class);
+    }
+
+    private List<Message<?>> messagesTo(String destination) {
+        return brokerMessages
+            .stream()
+            .filter(message -> destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+            .toList();
+    }
+
+    private Message<byte[]> subscribe(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSessionId("push-session");
+        accessor.setSubscriptionId("push-subscription");
+        accessor.setUser(
+            new UsernamePasswordAuthenticationToken("other-user", null, List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER)))
+        );
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
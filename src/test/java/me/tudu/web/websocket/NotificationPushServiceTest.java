@@ -0,0 +1,78 @@
+package me.tudu.web.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import me.tudu.domain.enumeration.Status;
+import me.tudu.service.NotificationFanOutEvent;
+import me.tudu.service.dto.NotificationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+/**
+ * Unit tests for {@link NotificationPushService}.
+ */
+class NotificationPushServiceTest {
+
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private RTopic fanOutTopic;
+
+    private NotificationPushService notificationPushService;
+
+    @BeforeEach
+    void setup() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        fanOutTopic = mock(RTopic.class);
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getTopic("notification:pushes")).thenReturn(mock(RTopic.class));
+        when(redissonClient.getTopic("notification:fan-outs")).thenReturn(fanOutTopic);
+        notificationPushService = new NotificationPushService(messagingTemplate, redissonClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fanOutIsRelayedAsOneMessage() {
+        NotificationFanOutEvent event = new NotificationFanOutEvent(
+            "Fan-out",
+            Status.PENDING,
+            Instant.now(),
+            List.of(
+                new NotificationFanOutEvent.Recipient(1L, 11L, "first-member"),
+                new NotificationFanOutEvent.Recipient(2L, 12L, "second-member"),
+                new NotificationFanOutEvent.Recipient(3L, 13L, "third-member")
+            )
+        );
+
+        notificationPushService.onNotificationFanOut(event);
+
+        // One publish for all the members
+        verify(fanOutTopic, times(1)).publish(any());
+        verify(fanOutTopic).publish(event);
+
+        // Each instance expands the message into the notification of each member of its sessions
+        ArgumentCaptor<MessageListener<NotificationFanOutEvent>> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(fanOutTopic).addListener(eq(NotificationFanOutEvent.class), listener.capture());
+        listener.getValue().onMessage("notification:fan-outs", event);
+
+        ArgumentCaptor<NotificationDTO> notification = ArgumentCaptor.forClass(NotificationDTO.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("first-member"), eq(NotificationPushService.DESTINATION), notification.capture());
+        verify(messagingTemplate).convertAndSendToUser(eq("second-member"), eq(NotificationPushService.DESTINATION), any());
+        verify(messagingTemplate).convertAndSendToUser(eq("third-member"), eq(NotificationPushService.DESTINATION), any());
+        assertThat(notification.getValue().getId()).isEqualTo(1L);
+        assertThat(notification.getValue().getMessage()).isEqualTo("Fan-out");
+        assertThat(notification.getValue().getUser().getId()).isEqualTo(11L);
+    }
+}